@@ -0,0 +1,16 @@
+package com.example.apigateway.cache;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A captured 200 response. Headers are stored in the order the service sent them.
+ */
+record CachedResponse(String contentType, Map<String, List<String>> headers, byte[] body,
+                      long storedAtNanos, long expiresAtNanos) {
+
+    String etag() {
+        List<String> values = headers.get("ETag");
+        return values == null || values.isEmpty() ? null : values.get(0);
+    }
+}
@@ -0,0 +1,267 @@
+package com.example.apigateway.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.server.PathContainer;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Enumeration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Serves repeated GETs on the configured catalog routes from a bounded in-memory cache, so bursts of
+ * identical browsing requests are answered at the edge instead of being proxied to a service.
+ * Only plain 200 responses without {@code Set-Cookie}, {@code private}, {@code no-store} or
+ * {@code no-cache} are stored, and requests sending {@code Authorization} are never cached.
+ * A write through the gateway to a cached route clears the cache; POSTs to the configured
+ * read-only paths (bulk lookups) do not.
+ */
+@Component
+@ConditionalOnProperty(name = "gateway.response-cache.enabled", havingValue = "true", matchIfMissing = true)
+@Slf4j
+public class ResponseCacheFilter extends OncePerRequestFilter {
+
+    private static final Pattern MAX_AGE = Pattern.compile("(?:^|,)\\s*(s-maxage|max-age)\\s*=\\s*(\\d+)");
+    private static final Set<String> WRITE_METHODS = Set.of("POST", "PUT", "PATCH", "DELETE");
+    private static final Set<String> UNCACHED_HEADERS = Set.of(
+            "transfer-encoding", "connection", "keep-alive", "content-length", "date", "age", "x-cache");
+
+    private final ResponseCacheProperties properties;
+    private final List<PathPattern> patterns;
+    private final List<PathPattern> readOnlyPatterns;
+    private final Cache<String, CachedResponse> entries;
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter bypasses;
+
+    public ResponseCacheFilter(ResponseCacheProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.patterns = parse(properties.getPaths());
+        this.readOnlyPatterns = parse(properties.getReadOnlyPaths());
+        this.entries = Caffeine.newBuilder()
+                .maximumSize(properties.getMaxEntries())
+                .expireAfter(new Expiry<String, CachedResponse>() {
+                    @Override
+                    public long expireAfterCreate(String key, CachedResponse value, long currentTime) {
+                        return value.expiresAtNanos() - value.storedAtNanos();
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, CachedResponse value, long currentTime,
+                                                  long currentDuration) {
+                        return value.expiresAtNanos() - value.storedAtNanos();
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, CachedResponse value, long currentTime,
+                                                long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .build();
+        this.hits = meterRegistry.counter("gateway.response.cache", "result", "hit");
+        this.misses = meterRegistry.counter("gateway.response.cache", "result", "miss");
+        this.bypasses = meterRegistry.counter("gateway.response.cache", "result", "bypass");
+        Gauge.builder("gateway.response.cache.size", this, ResponseCacheFilter::size)
+                .register(meterRegistry);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !matchesAny(patterns, request);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        if (!HttpMethod.GET.matches(request.getMethod())) {
+            chain.doFilter(request, response);
+            if (WRITE_METHODS.contains(request.getMethod()) && response.getStatus() < 400
+                    && !matchesAny(readOnlyPatterns, request)) {
+                entries.invalidateAll();
+            }
+            return;
+        }
+
+        String requestCacheControl = request.getHeader(HttpHeaders.CACHE_CONTROL);
+        if (request.getHeader(HttpHeaders.AUTHORIZATION) != null || hasDirective(requestCacheControl, "no-store")) {
+            bypasses.increment();
+            chain.doFilter(request, response);
+            return;
+        }
+
+        String key = keyOf(request);
+        long now = System.nanoTime();
+        boolean revalidate = hasDirective(requestCacheControl, "no-cache")
+                || hasDirective(requestCacheControl, "max-age=0");
+        CachedResponse cached = revalidate ? null : entries.getIfPresent(key);
+        if (cached != null) {
+            hits.increment();
+            writeCached(request, response, cached, now);
+            return;
+        }
+
+        misses.increment();
+        ContentCachingResponseWrapper wrapper = new ContentCachingResponseWrapper(response);
+        try {
+            chain.doFilter(request, wrapper);
+            response.setHeader("X-Cache", "MISS");
+            CachedResponse captured = capture(wrapper, System.nanoTime());
+            if (captured != null) {
+                entries.put(key, captured);
+            }
+        } finally {
+            wrapper.copyBodyToResponse();
+        }
+    }
+
+    private long size() {
+        return entries.estimatedSize();
+    }
+
+    private static List<PathPattern> parse(List<String> paths) {
+        return paths.stream()
+                .map(PathPatternParser.defaultInstance::parse)
+                .toList();
+    }
+
+    private static boolean matchesAny(List<PathPattern> patterns, HttpServletRequest request) {
+        PathContainer path = PathContainer.parsePath(request.getRequestURI());
+        return patterns.stream().anyMatch(pattern -> pattern.matches(path));
+    }
+
+    private CachedResponse capture(ContentCachingResponseWrapper response, long now) {
+        if (response.getStatus() != HttpServletResponse.SC_OK
+                || response.getContentSize() > properties.getMaxBodyBytes()
+                || response.getHeader(HttpHeaders.SET_COOKIE) != null) {
+            return null;
+        }
+        String cacheControl = response.getHeader(HttpHeaders.CACHE_CONTROL);
+        if (hasDirective(cacheControl, "no-store") || hasDirective(cacheControl, "no-cache")
+                || hasDirective(cacheControl, "private")) {
+            return null;
+        }
+        long ttlNanos = properties.getTtl().toNanos();
+        Long serviceMaxAge = maxAgeSeconds(cacheControl);
+        if (serviceMaxAge != null) {
+            ttlNanos = Math.min(ttlNanos, TimeUnit.SECONDS.toNanos(serviceMaxAge));
+        }
+        if (ttlNanos <= 0) {
+            return null;
+        }
+
+        Map<String, List<String>> headers = new LinkedHashMap<>();
+        for (String name : response.getHeaderNames()) {
+            if (!UNCACHED_HEADERS.contains(name.toLowerCase(Locale.ROOT))) {
+                headers.put(name, new ArrayList<>(response.getHeaders(name)));
+            }
+        }
+        return new CachedResponse(response.getContentType(), headers, response.getContentAsByteArray(),
+                now, now + ttlNanos);
+    }
+
+    private void writeCached(HttpServletRequest request, HttpServletResponse response, CachedResponse cached,
+                             long now) throws IOException {
+        cached.headers().forEach((name, values) -> values.forEach(value -> response.addHeader(name, value)));
+        response.setHeader(HttpHeaders.AGE, Long.toString(TimeUnit.NANOSECONDS.toSeconds(now - cached.storedAtNanos())));
+        response.setHeader("X-Cache", "HIT");
+
+        String etag = cached.etag();
+        if (etag != null && matches(request.getHeaders(HttpHeaders.IF_NONE_MATCH), etag)) {
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return;
+        }
+        response.setStatus(HttpServletResponse.SC_OK);
+        if (cached.contentType() != null) {
+            response.setContentType(cached.contentType());
+        }
+        response.setContentLength(cached.body().length);
+        response.getOutputStream().write(cached.body());
+    }
+
+    private String keyOf(HttpServletRequest request) {
+        StringBuilder key = new StringBuilder(request.getRequestURI());
+        if (request.getQueryString() != null) {
+            key.append('?').append(request.getQueryString());
+        }
+        for (String header : properties.getKeyHeaders()) {
+            key.append('\n').append(header).append(':');
+            String value = request.getHeader(header);
+            if (value != null) {
+                key.append(value);
+            }
+        }
+        return key.toString();
+    }
+
+    private static boolean matches(Enumeration<String> ifNoneMatch, String etag) {
+        String weakless = stripWeak(etag);
+        while (ifNoneMatch.hasMoreElements()) {
+            for (String candidate : ifNoneMatch.nextElement().split(",")) {
+                String trimmed = candidate.trim();
+                if (trimmed.equals("*") || stripWeak(trimmed).equals(weakless)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static String stripWeak(String etag) {
+        return etag.startsWith("W/") ? etag.substring(2) : etag;
+    }
+
+    private static boolean hasDirective(String cacheControl, String directive) {
+        if (cacheControl == null) {
+            return false;
+        }
+        for (String part : cacheControl.split(",")) {
+            if (part.trim().toLowerCase(Locale.ROOT).equals(directive)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /** @return {@code s-maxage} if present, otherwise {@code max-age}, otherwise {@code null} */
+    private static Long maxAgeSeconds(String cacheControl) {
+        if (cacheControl == null) {
+            return null;
+        }
+        Long maxAge = null;
+        Matcher matcher = MAX_AGE.matcher(cacheControl.toLowerCase(Locale.ROOT));
+        while (matcher.find()) {
+            long seconds = Long.parseLong(matcher.group(2));
+            if (matcher.group(1).equals("s-maxage")) {
+                return seconds;
+            }
+            maxAge = seconds;
+        }
+        return maxAge;
+    }
+}
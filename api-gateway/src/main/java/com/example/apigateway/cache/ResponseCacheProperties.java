@@ -0,0 +1,37 @@
+package com.example.apigateway.cache;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "gateway.response-cache")
+public class ResponseCacheProperties {
+
+    private boolean enabled = true;
+
+    /** Path patterns whose GET responses may be cached, e.g. {@code /api/products/**}. */
+    private List<String> paths = new ArrayList<>(List.of("/api/products/**"));
+
+    /**
+     * Cached paths whose non-GET requests only read, e.g. the bulk product lookup; they do not
+     * clear the cache the way writes do.
+     */
+    private List<String> readOnlyPaths = new ArrayList<>(List.of("/api/products/batch"));
+
+    /** Upper bound on freshness; a shorter {@code s-maxage}/{@code max-age} from the service wins. */
+    private Duration ttl = Duration.ofSeconds(30);
+
+    private int maxEntries = 1000;
+
+    /** Bodies larger than this are passed through without being cached. */
+    private int maxBodyBytes = 256 * 1024;
+
+    /** Request headers that select between representations and therefore belong in the cache key. */
+    private List<String> keyHeaders = new ArrayList<>(List.of("Accept", "Accept-Language"));
+}
@@ -0,0 +1,152 @@
+package com.example.apigateway.ratelimit;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.PathContainer;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Admission control at the edge. Each request must take a token from every matching rule's
+ * bucket: per client key for {@code CLIENT} rules and per route for {@code ROUTE} rules. If any
+ * bucket is empty the tokens already taken for the request are given back, so a rejected request
+ * costs nothing. Rejected requests get 429 with {@code Retry-After} and never reach the service.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+@ConditionalOnProperty(name = "gateway.rate-limit.enabled", havingValue = "true", matchIfMissing = true)
+@Slf4j
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private static final long SWEEP_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private record CompiledRule(RateLimitProperties.Rule rule, PathPattern pattern, Set<String> methods,
+                                TokenBucket routeBucket, Counter allowed, Counter rejected) {
+
+        boolean matches(String method, PathContainer path) {
+            return (methods.isEmpty() || methods.contains(method)) && pattern.matches(path);
+        }
+    }
+
+    private final RateLimitProperties properties;
+    private final List<CompiledRule> rules;
+    private final ConcurrentHashMap<String, TokenBucket> clientBuckets = new ConcurrentHashMap<>();
+    private final AtomicLong lastSweep = new AtomicLong(System.nanoTime());
+
+    public RateLimitFilter(RateLimitProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        long now = System.nanoTime();
+        this.rules = properties.getRules().stream()
+                .map(rule -> new CompiledRule(
+                        rule,
+                        PathPatternParser.defaultInstance.parse(rule.getPath()),
+                        rule.getMethods().stream().map(m -> m.toUpperCase(Locale.ROOT)).collect(Collectors.toSet()),
+                        rule.getScope() == RateLimitProperties.Scope.ROUTE
+                                ? new TokenBucket(rule.getCapacity(), rule.getRefillPerSecond(), now) : null,
+                        meterRegistry.counter("gateway.ratelimit", "rule", rule.getId(), "result", "allowed"),
+                        meterRegistry.counter("gateway.ratelimit", "rule", rule.getId(), "result", "rejected")))
+                .toList();
+        Gauge.builder("gateway.ratelimit.tracked.clients", clientBuckets, ConcurrentHashMap::size)
+                .register(meterRegistry);
+        log.info("Rate limiting enabled with {} rules", rules.size());
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        if (rules.isEmpty()) {
+            chain.doFilter(request, response);
+            return;
+        }
+        String method = request.getMethod();
+        PathContainer path = PathContainer.parsePath(request.getRequestURI());
+        long now = System.nanoTime();
+        String clientKey = null;
+        List<TokenBucket> taken = new ArrayList<>(2);
+        List<CompiledRule> admitted = new ArrayList<>(2);
+
+        for (CompiledRule compiled : rules) {
+            if (!compiled.matches(method, path)) {
+                continue;
+            }
+            TokenBucket bucket = compiled.routeBucket();
+            if (bucket == null) {
+                if (clientKey == null) {
+                    clientKey = clientKeyOf(request);
+                }
+                bucket = clientBuckets.computeIfAbsent(compiled.rule().getId() + '\n' + clientKey,
+                        key -> new TokenBucket(compiled.rule().getCapacity(), compiled.rule().getRefillPerSecond(), now));
+            }
+            long waitNanos = bucket.tryAcquire(now);
+            if (waitNanos > 0) {
+                taken.forEach(TokenBucket::refund);
+                compiled.rejected().increment();
+                log.debug("Rate limit {} rejected {} {} for client {}", compiled.rule().getId(), method,
+                        request.getRequestURI(), clientKey);
+                reject(response, waitNanos);
+                return;
+            }
+            taken.add(bucket);
+            admitted.add(compiled);
+        }
+        admitted.forEach(compiled -> compiled.allowed().increment());
+
+        sweepIdleBuckets(now);
+        chain.doFilter(request, response);
+    }
+
+    private String clientKeyOf(HttpServletRequest request) {
+        if (properties.isTrustClientKeyHeader()) {
+            String header = request.getHeader(properties.getClientKeyHeader());
+            if (header != null && !header.isBlank()) {
+                return header;
+            }
+        }
+        return request.getRemoteAddr();
+    }
+
+    private void reject(HttpServletResponse response, long waitNanos) throws IOException {
+        long retryAfterSeconds = Math.max(1, (waitNanos + 999_999_999L) / 1_000_000_000L);
+        response.setStatus(429);
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.getWriter().write("{\"error\":\"Too Many Requests\",\"retryAfterSeconds\":" + retryAfterSeconds + "}");
+    }
+
+    /**
+     * Drops fully refilled client buckets once too many are tracked. At most one request per
+     * interval pays for the sweep; the others skip it without blocking.
+     */
+    private void sweepIdleBuckets(long now) {
+        long last = lastSweep.get();
+        if (clientBuckets.size() <= properties.getMaxTrackedClients()
+                || now - last < SWEEP_INTERVAL_NANOS
+                || !lastSweep.compareAndSet(last, now)) {
+            return;
+        }
+        clientBuckets.values().removeIf(bucket -> bucket.isIdle(now));
+    }
+}
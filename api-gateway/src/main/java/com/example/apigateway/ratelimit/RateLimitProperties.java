@@ -0,0 +1,57 @@
+package com.example.apigateway.ratelimit;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "gateway.rate-limit")
+public class RateLimitProperties {
+
+    private boolean enabled = true;
+
+    /** Header identifying the calling client; only used when {@link #trustClientKeyHeader} is set. */
+    private String clientKeyHeader = "X-Client-Id";
+
+    /**
+     * Key client buckets on {@link #clientKeyHeader} instead of the remote address. Only enable this
+     * when the header is set or verified upstream; otherwise a caller can pick a fresh bucket per request.
+     */
+    private boolean trustClientKeyHeader = false;
+
+    /** Idle per-client buckets are swept once more than this many exist. */
+    private int maxTrackedClients = 100_000;
+
+    private List<Rule> rules = new ArrayList<>();
+
+    public enum Scope {
+        /** One bucket per client key. */
+        CLIENT,
+        /** One bucket shared by every caller of the route. */
+        ROUTE
+    }
+
+    @Data
+    public static class Rule {
+
+        private String id;
+
+        /** Path pattern, e.g. {@code /api/orders/**}. */
+        private String path;
+
+        /** HTTP methods the rule applies to; empty means all. */
+        private List<String> methods = new ArrayList<>();
+
+        private Scope scope = Scope.CLIENT;
+
+        /** Largest burst admitted at once. */
+        private int capacity;
+
+        /** Sustained requests per second. */
+        private double refillPerSecond;
+    }
+}
@@ -0,0 +1,134 @@
+package com.example.benchmarks;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.OutputStreamAppender;
+import com.example.inventoryservice.logging.HotPathLogger;
+import com.example.inventoryservice.logging.LogSamplingProperties;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.slf4j.LoggerFactory;
+
+import java.io.OutputStream;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Logging cost of a stock reservation call: the per-call INFO line the services used to write,
+ * a {@link HotPathLogger} DEBUG event sampled one in {@code sampleRate}, and the same event with
+ * DEBUG off as in the {@code prod} profile. Output is encoded with the console pattern and
+ * discarded, either on the calling thread or through the async appender the services use.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+public class HotPathLoggingBenchmark {
+
+    private static final String PATTERN =
+            "%d{yyyy-MM-dd'T'HH:mm:ss.SSSXXX} %5p --- [%15.15t] %-40.40logger{39} : %m %kvp%n";
+
+    private static final org.slf4j.Logger PER_CALL_LOG = LoggerFactory.getLogger(PerCall.class);
+    private static final HotPathLogger SAMPLED_LOG = HotPathLogger.of(Sampled.class, "benchmark.sampled");
+    private static final HotPathLogger DISABLED_LOG = HotPathLogger.of(Disabled.class, "benchmark.disabled");
+
+    @Param({"sync", "async"})
+    private String appender;
+
+    @Param({"100"})
+    private int sampleRate;
+
+    private LoggerContext context;
+
+    @Setup
+    public void setUp() {
+        context = (LoggerContext) LoggerFactory.getILoggerFactory();
+        context.reset();
+
+        PatternLayoutEncoder encoder = new PatternLayoutEncoder();
+        encoder.setContext(context);
+        encoder.setPattern(PATTERN);
+        encoder.start();
+
+        OutputStreamAppender<ILoggingEvent> output = new OutputStreamAppender<>();
+        output.setContext(context);
+        output.setName("DISCARD");
+        output.setEncoder(encoder);
+        output.setOutputStream(OutputStream.nullOutputStream());
+        output.start();
+
+        Appender<ILoggingEvent> root = output;
+        if ("async".equals(appender)) {
+            AsyncAppender async = new AsyncAppender();
+            async.setContext(context);
+            async.setName("ASYNC_DISCARD");
+            async.setQueueSize(8192);
+            async.setNeverBlock(true);
+            async.addAppender(output);
+            async.start();
+            root = async;
+        }
+
+        Logger rootLogger = context.getLogger(org.slf4j.Logger.ROOT_LOGGER_NAME);
+        rootLogger.setLevel(Level.INFO);
+        rootLogger.addAppender(root);
+        context.getLogger(Sampled.class).setLevel(Level.DEBUG);
+
+        LogSamplingProperties sampling = new LogSamplingProperties();
+        sampling.setRates(Map.of("benchmark.sampled", sampleRate));
+        sampling.apply();
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.stop();
+    }
+
+    @Benchmark
+    public void infoPerCall() {
+        long productId = ThreadLocalRandom.current().nextLong(1, 1000);
+        PER_CALL_LOG.info("Reserving stock for product: {} quantity: {}", productId, 2);
+        PER_CALL_LOG.info("Successfully reserved {} units for product: {}", 2, productId);
+    }
+
+    @Benchmark
+    public void sampledDebug() {
+        long productId = ThreadLocalRandom.current().nextLong(1, 1000);
+        SAMPLED_LOG.atDebug().addKeyValue("productId", productId).addKeyValue("quantity", 2).log("Reserved stock");
+    }
+
+    @Benchmark
+    public void disabledDebug() {
+        long productId = ThreadLocalRandom.current().nextLong(1, 1000);
+        DISABLED_LOG.atDebug().addKeyValue("productId", productId).addKeyValue("quantity", 2).log("Reserved stock");
+    }
+
+    private static final class PerCall {
+    }
+
+    private static final class Sampled {
+    }
+
+    private static final class Disabled {
+    }
+}
@@ -0,0 +1,111 @@
+package com.example.benchmarks;
+
+import com.example.inventoryservice.ledger.StockLedger;
+import com.example.inventoryservice.model.Inventory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reserve-then-release of one unit under contention, with traffic spread over {@code hotProducts}
+ * rows out of {@code products}. Compares the entity check ({@code Inventory.hasAvailableStock})
+ * under a monitor, the in-memory {@link StockLedger}, and the guarded SQL update used by
+ * {@code InventoryRepository.reserveIfAvailable} against embedded H2.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(8)
+public class InventoryContentionBenchmark {
+
+    private static final String RESERVE_SQL =
+            "UPDATE inventory SET reserved_quantity = reserved_quantity + ?, updated_at = CURRENT_TIMESTAMP " +
+            "WHERE product_id = ? AND quantity - reserved_quantity >= ?";
+    private static final String RELEASE_SQL =
+            "UPDATE inventory SET reserved_quantity = reserved_quantity - ?, updated_at = CURRENT_TIMESTAMP " +
+            "WHERE product_id = ? AND reserved_quantity >= ?";
+
+    @Param("10000")
+    private int products;
+
+    @Param({"1", "16", "1000"})
+    private int hotProducts;
+
+    private EmbeddedDatabase database;
+    private JdbcTemplate jdbcTemplate;
+    private StockLedger ledger;
+    private Inventory[] inventories;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        database = InventoryDatabase.create(products);
+        jdbcTemplate = new JdbcTemplate(database);
+        ledger = new StockLedger(jdbcTemplate, new TransactionTemplate(new DataSourceTransactionManager(database)));
+        ledger.recover();
+
+        inventories = new Inventory[products];
+        for (int i = 0; i < products; i++) {
+            Inventory inventory = new Inventory();
+            inventory.setProductId(i + 1L);
+            inventory.setQuantity(InventoryDatabase.INITIAL_QUANTITY);
+            inventory.setReservedQuantity(0);
+            inventories[i] = inventory;
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        database.shutdown();
+    }
+
+    @Benchmark
+    public boolean entityCheckAndReserve() {
+        Inventory inventory = inventories[ThreadLocalRandom.current().nextInt(hotProducts)];
+        synchronized (inventory) {
+            if (!inventory.hasAvailableStock(1)) {
+                return false;
+            }
+            inventory.setReservedQuantity(inventory.getReservedQuantity() + 1);
+            inventory.setReservedQuantity(inventory.getReservedQuantity() - 1);
+            return true;
+        }
+    }
+
+    @Benchmark
+    public boolean ledgerReserveRelease() {
+        Long productId = nextProductId();
+        return ledger.reserve(productId, 1) && ledger.release(productId, 1);
+    }
+
+    @Benchmark
+    public boolean guardedUpdateReserveRelease() {
+        Long productId = nextProductId();
+        return jdbcTemplate.update(RESERVE_SQL, 1, productId, 1) == 1
+                && jdbcTemplate.update(RELEASE_SQL, 1, productId, 1) == 1;
+    }
+
+    private Long nextProductId() {
+        return ThreadLocalRandom.current().nextInt(hotProducts) + 1L;
+    }
+}
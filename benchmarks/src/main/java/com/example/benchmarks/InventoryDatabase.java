@@ -0,0 +1,58 @@
+package com.example.benchmarks;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Embedded H2 holding an {@code inventory} table shaped like inventory-service's schema,
+ * filled with {@code products} rows of ample stock.
+ */
+final class InventoryDatabase {
+
+    static final int INITIAL_QUANTITY = 1_000_000;
+
+    private static final String CREATE_SQL =
+            "CREATE TABLE inventory (" +
+            "id BIGINT AUTO_INCREMENT PRIMARY KEY, " +
+            "product_id BIGINT NOT NULL UNIQUE, " +
+            "quantity INTEGER NOT NULL, " +
+            "reserved_quantity INTEGER NOT NULL DEFAULT 0, " +
+            "warehouse_location VARCHAR(200), " +
+            "reorder_level INTEGER DEFAULT 10, " +
+            "last_restocked TIMESTAMP, " +
+            "created_at TIMESTAMP NOT NULL, " +
+            "updated_at TIMESTAMP NOT NULL, " +
+            "CONSTRAINT chk_quantity_nonnegative CHECK (quantity >= 0), " +
+            "CONSTRAINT chk_reserved_nonnegative CHECK (reserved_quantity >= 0))";
+    private static final String INSERT_SQL =
+            "INSERT INTO inventory (product_id, quantity, reserved_quantity, warehouse_location, created_at, updated_at) " +
+            "VALUES (?, ?, 0, 'BENCH', ?, ?)";
+
+    private InventoryDatabase() {
+    }
+
+    static EmbeddedDatabase create(int products) {
+        EmbeddedDatabase database = new EmbeddedDatabaseBuilder()
+                .setType(EmbeddedDatabaseType.H2)
+                .setName("inventory-bench-" + UUID.randomUUID())
+                .build();
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(database);
+        jdbcTemplate.execute(CREATE_SQL);
+
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> rows = new ArrayList<>(products);
+        for (long productId = 1; productId <= products; productId++) {
+            rows.add(new Object[]{productId, INITIAL_QUANTITY, now, now});
+        }
+        jdbcTemplate.batchUpdate(INSERT_SQL, rows);
+        return database;
+    }
+}
@@ -0,0 +1,47 @@
+package com.example.benchmarks;
+
+import com.example.orderservice.model.Order;
+import com.example.orderservice.model.OrderItem;
+import com.example.orderservice.model.OrderStatus;
+import com.example.orderservice.service.OrderService;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+final class OrderFixtures {
+
+    private OrderFixtures() {
+    }
+
+    static List<OrderItem> items(int count) {
+        Random random = new Random(42);
+        List<OrderItem> items = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            OrderItem item = new OrderItem();
+            item.setId((long) i + 1);
+            item.setProductId((long) random.nextInt(10_000) + 1);
+            item.setProductName("Product " + item.getProductId());
+            item.setQuantity(random.nextInt(5) + 1);
+            item.setPrice(BigDecimal.valueOf(random.nextInt(100_000) + 99, 2));
+            items.add(item);
+        }
+        return items;
+    }
+
+    static Order order(int itemCount) {
+        Order order = new Order();
+        order.setId(1L);
+        order.setUserId(7L);
+        order.setStatus(OrderStatus.CONFIRMED);
+        order.setShippingAddress("221B Baker Street, London");
+        order.setPaymentMethod("CREDIT_CARD");
+        order.setCreatedAt(LocalDateTime.now());
+        order.setUpdatedAt(LocalDateTime.now());
+        items(itemCount).forEach(order::addItem);
+        order.setTotalAmount(OrderService.calculateTotal(order.getItems()));
+        return order;
+    }
+}
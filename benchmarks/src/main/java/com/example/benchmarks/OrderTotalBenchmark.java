@@ -0,0 +1,57 @@
+package com.example.benchmarks;
+
+import com.example.orderservice.model.OrderItem;
+import com.example.orderservice.service.OrderService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@code BigDecimal} arithmetic of an order: per-item subtotals and the order total as computed
+ * by {@link OrderService#calculateTotal}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OrderTotalBenchmark {
+
+    @Param({"1", "10", "100"})
+    private int items;
+
+    private List<OrderItem> orderItems;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        orderItems = OrderFixtures.items(items);
+    }
+
+    @Benchmark
+    public void calculateSubtotals(Blackhole blackhole) {
+        for (OrderItem item : orderItems) {
+            item.calculateSubtotal();
+            blackhole.consume(item.getSubtotal());
+        }
+    }
+
+    @Benchmark
+    public BigDecimal calculateTotal() {
+        return OrderService.calculateTotal(orderItems);
+    }
+}
@@ -0,0 +1,102 @@
+package com.example.benchmarks;
+
+import com.example.productservice.model.Product;
+import com.example.productservice.repository.ProductRepository;
+import com.example.productservice.search.ProductSearchIndex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Ranked search over {@code products} generated products through {@link ProductSearchIndex},
+ * for a selective exact query, a broad prefix query and a two-token query.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ProductSearchBenchmark {
+
+    private static final String[] CATEGORIES = {"Electronics", "Books", "Clothing", "Home", "Sports", "Toys"};
+    private static final String[] ADJECTIVES = {"Wireless", "Compact", "Premium", "Classic", "Smart", "Portable",
+            "Ergonomic", "Vintage", "Durable", "Lightweight"};
+    private static final String[] NOUNS = {"Mouse", "Keyboard", "Laptop", "Headphones", "Novel", "Jacket",
+            "Lamp", "Backpack", "Bottle", "Puzzle", "Speaker", "Monitor"};
+
+    @Param({"1000", "100000"})
+    private int products;
+
+    private ProductSearchIndex index;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        List<Product> generated = generate(products);
+        index = new ProductSearchIndex(repositoryReturning(generated));
+        index.rebuild();
+    }
+
+    @Benchmark
+    public Object exactTerm() {
+        return index.search("headphones");
+    }
+
+    @Benchmark
+    public Object broadPrefix() {
+        return index.search("s");
+    }
+
+    @Benchmark
+    public Object twoTokens() {
+        return index.search("wireless mou");
+    }
+
+    private static List<Product> generate(int count) {
+        Random random = new Random(42);
+        List<Product> generated = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            String adjective = ADJECTIVES[random.nextInt(ADJECTIVES.length)];
+            String noun = NOUNS[random.nextInt(NOUNS.length)];
+            Product product = new Product();
+            product.setId(i + 1L);
+            product.setName(adjective + " " + noun + " " + (i + 1));
+            product.setDescription("A " + adjective.toLowerCase() + " " + noun.toLowerCase()
+                    + " built for everyday use, model " + random.nextInt(1000));
+            product.setCategory(CATEGORIES[random.nextInt(CATEGORIES.length)]);
+            product.setPrice(BigDecimal.valueOf(random.nextInt(100_000) + 99, 2));
+            product.setActive(true);
+            generated.add(product);
+        }
+        return generated;
+    }
+
+    /** The index only calls {@code findAll()} while rebuilding, so a proxy stands in for the JPA repository. */
+    private static ProductRepository repositoryReturning(List<Product> all) {
+        return (ProductRepository) Proxy.newProxyInstance(
+                ProductRepository.class.getClassLoader(),
+                new Class<?>[]{ProductRepository.class},
+                (proxy, method, args) -> {
+                    if (method.getName().equals("findAll") && method.getParameterCount() == 0) {
+                        return all;
+                    }
+                    throw new UnsupportedOperationException(method.getName());
+                });
+    }
+}
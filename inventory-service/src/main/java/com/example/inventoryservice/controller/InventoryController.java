@@ -1,38 +1,47 @@
 package com.example.inventoryservice.controller;
 
+import com.example.inventoryservice.dto.CursorPage;
+import com.example.inventoryservice.dto.ReservationRequest;
+import com.example.inventoryservice.dto.ReservationResult;
 import com.example.inventoryservice.model.Inventory;
 import com.example.inventoryservice.service.InventoryService;
+import com.example.inventoryservice.service.ReservationService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
-
 @RestController
 @RequestMapping("/api/inventory")
 @RequiredArgsConstructor
 public class InventoryController {
 
     private final InventoryService inventoryService;
+    private final ReservationService reservationService;
 
     @GetMapping
-    public ResponseEntity<List<Inventory>> getAllInventories() {
-        return ResponseEntity.ok(inventoryService.getAllInventories());
+    public ResponseEntity<CursorPage<Inventory>> getAllInventories(
+            @RequestParam(required = false) String after,
+            @RequestParam(required = false) Integer size) {
+        try {
+            return conditionalPage(inventoryService.getAllInventories(CursorPage.decode(after), CursorPage.clampSize(size)));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
     }
 
     @GetMapping("/{id}")
     public ResponseEntity<Inventory> getInventoryById(@PathVariable Long id) {
         return inventoryService.getInventoryById(id)
-                .map(ResponseEntity::ok)
+                .map(found -> ConditionalGet.ok(found, etagOf(found), found.getUpdatedAt()))
                 .orElse(ResponseEntity.notFound().build());
     }
 
     @GetMapping("/product/{productId}")
     public ResponseEntity<Inventory> getInventoryByProductId(@PathVariable Long productId) {
         return inventoryService.getInventoryByProductId(productId)
-                .map(ResponseEntity::ok)
+                .map(found -> ConditionalGet.ok(found, etagOf(found), found.getUpdatedAt()))
                 .orElse(ResponseEntity.notFound().build());
     }
 
@@ -50,6 +59,38 @@ public class InventoryController {
         return ResponseEntity.ok(inventoryService.reserveStock(productId, quantity));
     }
 
+    @PostMapping("/reservations")
+    public ResponseEntity<ReservationResult> reserveStocks(@Valid @RequestBody ReservationRequest request) {
+        return ResponseEntity.ok(reservationService.reserve(request.getItems(), request.getRequestKey()));
+    }
+
+    @PostMapping("/reservations/{reservationId}/confirm")
+    public ResponseEntity<Boolean> confirmReservation(@PathVariable String reservationId) {
+        try {
+            return ResponseEntity.ok(reservationService.confirm(reservationId));
+        } catch (RuntimeException e) {
+            return ResponseEntity.ok(false);
+        }
+    }
+
+    @PostMapping("/reservations/{reservationId}/release")
+    public ResponseEntity<Boolean> releaseReservation(@PathVariable String reservationId) {
+        try {
+            return ResponseEntity.ok(reservationService.release(reservationId));
+        } catch (RuntimeException e) {
+            return ResponseEntity.ok(false);
+        }
+    }
+
+    @PostMapping("/reservations/{reservationId}/cancel")
+    public ResponseEntity<Boolean> cancelReservation(@PathVariable String reservationId) {
+        try {
+            return ResponseEntity.ok(reservationService.cancel(reservationId));
+        } catch (RuntimeException e) {
+            return ResponseEntity.ok(false);
+        }
+    }
+
     @PostMapping("/release/{productId}/{quantity}")
     public ResponseEntity<Boolean> releaseStock(
             @PathVariable Long productId,
@@ -97,5 +138,29 @@ public class InventoryController {
         inventoryService.deleteInventory(id);
         return ResponseEntity.noContent().build();
     }
-}
 
+    /**
+     * List pages only carry an ETag: a deleted record leaves the newest {@code updatedAt} unchanged,
+     * so Last-Modified could not detect it.
+     */
+    private ResponseEntity<CursorPage<Inventory>> conditionalPage(CursorPage<Inventory> page) {
+        ConditionalGet.Tag tag = new ConditionalGet.Tag();
+        for (Inventory inventory : page.getItems()) {
+            addState(tag, inventory);
+        }
+        tag.add(page.getNextCursor());
+        return ConditionalGet.ok(page, tag.build(), null);
+    }
+
+    private static String etagOf(Inventory inventory) {
+        return addState(new ConditionalGet.Tag(), inventory).build();
+    }
+
+    /** Stock counters are part of the tag because two updates can land within the same timestamp tick. */
+    private static ConditionalGet.Tag addState(ConditionalGet.Tag tag, Inventory inventory) {
+        return tag.add(inventory.getId())
+                .add(inventory.getUpdatedAt())
+                .add(inventory.getQuantity())
+                .add(inventory.getReservedQuantity());
+    }
+}
@@ -0,0 +1,24 @@
+package com.example.inventoryservice.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReservationRequest {
+
+    @NotEmpty(message = "At least one item is required")
+    @Valid
+    private List<ReservationLine> items = new ArrayList<>();
+
+    @Size(max = 100, message = "Request key must be at most 100 characters")
+    private String requestKey;
+}
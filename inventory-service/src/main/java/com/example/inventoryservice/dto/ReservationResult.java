@@ -0,0 +1,31 @@
+package com.example.inventoryservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReservationResult {
+
+    private boolean success;
+
+    private String reservationId;
+
+    private LocalDateTime expiresAt;
+
+    private List<Long> unavailableProductIds = new ArrayList<>();
+
+    public static ReservationResult reserved() {
+        return new ReservationResult(true, null, null, new ArrayList<>());
+    }
+
+    public static ReservationResult rejected(List<Long> unavailableProductIds) {
+        return new ReservationResult(false, null, null, unavailableProductIds);
+    }
+}
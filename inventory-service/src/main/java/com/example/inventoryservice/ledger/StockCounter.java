@@ -0,0 +1,30 @@
+package com.example.inventoryservice.ledger;
+
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * In-memory stock counters for a single product. All fields are guarded by {@link #lock};
+ * the pending deltas hold changes that have not yet been written back to the inventory table.
+ */
+class StockCounter {
+
+    final ReentrantLock lock = new ReentrantLock();
+
+    int quantity;
+    int reservedQuantity;
+    int pendingQuantityDelta;
+    int pendingReservedDelta;
+
+    StockCounter(int quantity, int reservedQuantity) {
+        this.quantity = quantity;
+        this.reservedQuantity = reservedQuantity;
+    }
+
+    int available() {
+        return quantity - reservedQuantity;
+    }
+
+    boolean isDirty() {
+        return pendingQuantityDelta != 0 || pendingReservedDelta != 0;
+    }
+}
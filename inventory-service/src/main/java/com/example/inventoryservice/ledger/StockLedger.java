@@ -0,0 +1,292 @@
+package com.example.inventoryservice.ledger;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Answers availability checks and reservations for every product from memory and writes the
+ * accumulated quantity/reserved deltas back to the inventory table in periodic batches.
+ * Enabled with {@code inventory.ledger.enabled=true}; the table is the recovery source on startup.
+ */
+@Component
+@ConditionalOnProperty(name = "inventory.ledger.enabled", havingValue = "true")
+@Slf4j
+public class StockLedger {
+
+    private static final String SELECT_SQL =
+            "SELECT product_id, quantity, reserved_quantity FROM inventory";
+    private static final String SELECT_ONE_SQL =
+            "SELECT quantity, reserved_quantity FROM inventory WHERE product_id = ?";
+    private static final String FLUSH_SQL =
+            "UPDATE inventory SET quantity = quantity + ?, reserved_quantity = reserved_quantity + ?, " +
+            "updated_at = ? WHERE product_id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    private final Map<Long, StockCounter> counters = new ConcurrentHashMap<>();
+
+    @Value("${inventory.ledger.flush-batch-size:500}")
+    private int flushBatchSize;
+
+    /**
+     * Flushes commit in their own transaction: a caller such as {@code updateInventory} may flush
+     * from inside a transaction that later rolls back, and the drained deltas must not go with it.
+     */
+    public StockLedger(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    @PostConstruct
+    public void recover() {
+        jdbcTemplate.query(SELECT_SQL, rs -> {
+            counters.put(rs.getLong("product_id"),
+                    new StockCounter(rs.getInt("quantity"), rs.getInt("reserved_quantity")));
+        });
+        log.info("Stock ledger recovered {} products from inventory table", counters.size());
+    }
+
+    public boolean isAvailable(Long productId, int quantity) {
+        StockCounter counter = counters.get(productId);
+        if (counter == null) {
+            return false;
+        }
+        counter.lock.lock();
+        try {
+            return counter.available() >= quantity;
+        } finally {
+            counter.lock.unlock();
+        }
+    }
+
+    public boolean reserve(Long productId, int quantity) {
+        StockCounter counter = counters.get(productId);
+        if (counter == null) {
+            return false;
+        }
+        counter.lock.lock();
+        try {
+            if (counter.available() < quantity) {
+                return false;
+            }
+            counter.reservedQuantity += quantity;
+            counter.pendingReservedDelta += quantity;
+            return true;
+        } finally {
+            counter.lock.unlock();
+        }
+    }
+
+    /**
+     * Reserves every product in the map or none of them. Counters are locked in product id order
+     * so concurrent multi-product reservations cannot deadlock.
+     *
+     * @return the product ids that could not be reserved, empty on success
+     */
+    public List<Long> reserveAll(SortedMap<Long, Integer> requested) {
+        List<Long> unavailable = new ArrayList<>();
+        List<StockCounter> locked = new ArrayList<>(requested.size());
+        try {
+            for (Map.Entry<Long, Integer> entry : requested.entrySet()) {
+                StockCounter counter = counters.get(entry.getKey());
+                if (counter == null) {
+                    unavailable.add(entry.getKey());
+                    continue;
+                }
+                counter.lock.lock();
+                locked.add(counter);
+                if (counter.available() < entry.getValue()) {
+                    unavailable.add(entry.getKey());
+                }
+            }
+            if (unavailable.isEmpty()) {
+                requested.forEach((productId, quantity) -> {
+                    StockCounter counter = counters.get(productId);
+                    counter.reservedQuantity += quantity;
+                    counter.pendingReservedDelta += quantity;
+                });
+            }
+            return unavailable;
+        } finally {
+            locked.forEach(counter -> counter.lock.unlock());
+        }
+    }
+
+    public boolean release(Long productId, int quantity) {
+        StockCounter counter = counters.get(productId);
+        if (counter == null) {
+            return false;
+        }
+        counter.lock.lock();
+        try {
+            if (counter.reservedQuantity < quantity) {
+                return false;
+            }
+            counter.reservedQuantity -= quantity;
+            counter.pendingReservedDelta -= quantity;
+            return true;
+        } finally {
+            counter.lock.unlock();
+        }
+    }
+
+    public boolean confirm(Long productId, int quantity) {
+        StockCounter counter = counters.get(productId);
+        if (counter == null) {
+            return false;
+        }
+        counter.lock.lock();
+        try {
+            if (counter.reservedQuantity < quantity) {
+                return false;
+            }
+            counter.quantity -= quantity;
+            counter.reservedQuantity -= quantity;
+            counter.pendingQuantityDelta -= quantity;
+            counter.pendingReservedDelta -= quantity;
+            return true;
+        } finally {
+            counter.lock.unlock();
+        }
+    }
+
+    /**
+     * Puts confirmed units back on hand, undoing {@link #confirm} for an order that was not placed.
+     */
+    public boolean returnStock(Long productId, int quantity) {
+        StockCounter counter = counters.get(productId);
+        if (counter == null) {
+            return false;
+        }
+        counter.lock.lock();
+        try {
+            counter.quantity += quantity;
+            counter.pendingQuantityDelta += quantity;
+            return true;
+        } finally {
+            counter.lock.unlock();
+        }
+    }
+
+    /**
+     * Applies deltas without any availability check; used to undo a change whose surrounding
+     * transaction rolled back.
+     */
+    public void adjust(Long productId, int quantityDelta, int reservedDelta) {
+        StockCounter counter = counters.get(productId);
+        if (counter == null) {
+            return;
+        }
+        counter.lock.lock();
+        try {
+            counter.quantity += quantityDelta;
+            counter.reservedQuantity += reservedDelta;
+            counter.pendingQuantityDelta += quantityDelta;
+            counter.pendingReservedDelta += reservedDelta;
+        } finally {
+            counter.lock.unlock();
+        }
+    }
+
+    /**
+     * Re-reads a product's row after it was changed directly in the table, keeping any deltas
+     * that have not been flushed yet on top of the stored values. Synchronized with {@link #flush()}
+     * so a batch cannot be drained from the counters but not yet visible in the row being read.
+     */
+    public synchronized void refresh(Long productId) {
+        List<int[]> rows = jdbcTemplate.query(SELECT_ONE_SQL,
+                (rs, rowNum) -> new int[]{rs.getInt("quantity"), rs.getInt("reserved_quantity")}, productId);
+        if (rows.isEmpty()) {
+            counters.remove(productId);
+            return;
+        }
+        int[] row = rows.get(0);
+        StockCounter counter = counters.computeIfAbsent(productId, id -> new StockCounter(row[0], row[1]));
+        counter.lock.lock();
+        try {
+            counter.quantity = row[0] + counter.pendingQuantityDelta;
+            counter.reservedQuantity = row[1] + counter.pendingReservedDelta;
+        } finally {
+            counter.lock.unlock();
+        }
+    }
+
+    public void forget(Long productId) {
+        counters.remove(productId);
+    }
+
+    @Scheduled(fixedDelayString = "${inventory.ledger.flush-interval-ms:500}")
+    public synchronized void flush() {
+        List<Object[]> batch = new ArrayList<>();
+        Map<Long, int[]> drained = new HashMap<>();
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+
+        counters.forEach((productId, counter) -> {
+            counter.lock.lock();
+            try {
+                if (!counter.isDirty()) {
+                    return;
+                }
+                drained.put(productId, new int[]{counter.pendingQuantityDelta, counter.pendingReservedDelta});
+                batch.add(new Object[]{counter.pendingQuantityDelta, counter.pendingReservedDelta, now, productId});
+                counter.pendingQuantityDelta = 0;
+                counter.pendingReservedDelta = 0;
+            } finally {
+                counter.lock.unlock();
+            }
+        });
+
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                for (int from = 0; from < batch.size(); from += flushBatchSize) {
+                    jdbcTemplate.batchUpdate(FLUSH_SQL, batch.subList(from, Math.min(from + flushBatchSize, batch.size())));
+                }
+            });
+            log.debug("Stock ledger flushed {} products", batch.size());
+        } catch (RuntimeException e) {
+            log.error("Stock ledger flush failed, re-queueing {} products", batch.size(), e);
+            drained.forEach((productId, deltas) -> {
+                StockCounter counter = counters.get(productId);
+                if (counter == null) {
+                    return;
+                }
+                counter.lock.lock();
+                try {
+                    counter.pendingQuantityDelta += deltas[0];
+                    counter.pendingReservedDelta += deltas[1];
+                } finally {
+                    counter.lock.unlock();
+                }
+            });
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flush();
+    }
+}
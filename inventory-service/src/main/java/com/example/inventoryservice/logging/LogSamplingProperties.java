@@ -0,0 +1,26 @@
+package com.example.inventoryservice.logging;
+
+import jakarta.annotation.PostConstruct;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Sample rates for {@link HotPathLogger}, keyed by event or logger name, e.g.
+ * {@code logging.sampling.rates[inventory.reserve]=100} logs one reservation in a hundred.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "logging.sampling")
+public class LogSamplingProperties {
+
+    private Map<String, Integer> rates = new HashMap<>();
+
+    @PostConstruct
+    public void apply() {
+        HotPathLogger.configure(rates);
+    }
+}
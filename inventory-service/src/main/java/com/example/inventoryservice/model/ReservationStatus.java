@@ -0,0 +1,9 @@
+package com.example.inventoryservice.model;
+
+public enum ReservationStatus {
+    PENDING,
+    CONFIRMED,
+    RELEASED,
+    EXPIRED,
+    CANCELLED
+}
@@ -1,9 +1,14 @@
 package com.example.inventoryservice.repository;
 
 import com.example.inventoryservice.model.Inventory;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -12,5 +17,42 @@ public interface InventoryRepository extends JpaRepository<Inventory, Long> {
     Optional<Inventory> findByProductId(Long productId);
 
     boolean existsByProductId(Long productId);
+
+    List<Inventory> findByIdGreaterThanOrderByIdAsc(Long afterId, Limit limit);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Inventory i SET i.reservedQuantity = i.reservedQuantity + :quantity, i.updatedAt = LOCAL DATETIME " +
+            "WHERE i.productId = :productId AND i.quantity - i.reservedQuantity >= :quantity")
+    int reserveIfAvailable(@Param("productId") Long productId, @Param("quantity") Integer quantity);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Inventory i SET i.reservedQuantity = i.reservedQuantity - :quantity, i.updatedAt = LOCAL DATETIME " +
+            "WHERE i.productId = :productId AND i.reservedQuantity >= :quantity")
+    int releaseIfReserved(@Param("productId") Long productId, @Param("quantity") Integer quantity);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Inventory i SET i.quantity = i.quantity - :quantity, " +
+            "i.reservedQuantity = i.reservedQuantity - :quantity, i.updatedAt = LOCAL DATETIME " +
+            "WHERE i.productId = :productId AND i.reservedQuantity >= :quantity")
+    int confirmIfReserved(@Param("productId") Long productId, @Param("quantity") Integer quantity);
+
+    // Never writes reservedQuantity, so it cannot overwrite reservations committed concurrently
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Inventory i SET i.quantity = :quantity, i.warehouseLocation = :warehouseLocation, " +
+            "i.reorderLevel = :reorderLevel, i.updatedAt = LOCAL DATETIME WHERE i.id = :id")
+    int updateDetails(@Param("id") Long id,
+                      @Param("quantity") Integer quantity,
+                      @Param("warehouseLocation") String warehouseLocation,
+                      @Param("reorderLevel") Integer reorderLevel);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Inventory i SET i.quantity = i.quantity + :quantity, i.updatedAt = LOCAL DATETIME " +
+            "WHERE i.productId = :productId")
+    int returnStock(@Param("productId") Long productId, @Param("quantity") Integer quantity);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Inventory i SET i.quantity = i.quantity + :quantity, i.lastRestocked = LOCAL DATETIME, " +
+            "i.updatedAt = LOCAL DATETIME WHERE i.productId = :productId")
+    int restock(@Param("productId") Long productId, @Param("quantity") Integer quantity);
 }
 
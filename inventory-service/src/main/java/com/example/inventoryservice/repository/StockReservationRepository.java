@@ -0,0 +1,31 @@
+package com.example.inventoryservice.repository;
+
+import com.example.inventoryservice.model.ReservationStatus;
+import com.example.inventoryservice.model.StockReservation;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface StockReservationRepository extends JpaRepository<StockReservation, String> {
+
+    List<StockReservation> findByRequestKeyAndStatus(String requestKey, ReservationStatus status);
+
+    @Query("SELECT r.id FROM StockReservation r WHERE r.status = :status AND r.expiresAt < :now ORDER BY r.expiresAt")
+    List<String> findIdsExpiredBefore(@Param("status") ReservationStatus status,
+                                      @Param("now") LocalDateTime now,
+                                      Pageable pageable);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE StockReservation r SET r.status = :to, r.updatedAt = LOCAL DATETIME " +
+            "WHERE r.id = :id AND r.status = :from")
+    int transition(@Param("id") String id,
+                   @Param("from") ReservationStatus from,
+                   @Param("to") ReservationStatus to);
+}
@@ -1,149 +1,306 @@
 package com.example.inventoryservice.service;
 
+import com.example.inventoryservice.dto.CursorPage;
+import com.example.inventoryservice.dto.ReservationLine;
+import com.example.inventoryservice.dto.ReservationResult;
+import com.example.inventoryservice.ledger.StockLedger;
+import com.example.inventoryservice.logging.HotPathLogger;
 import com.example.inventoryservice.model.Inventory;
 import com.example.inventoryservice.repository.InventoryRepository;
 import io.github.resilience4j.circuitbreaker.annotation.CircuitBreaker;
 import io.github.resilience4j.retry.annotation.Retry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
-import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.TreeMap;
+import java.util.function.IntSupplier;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class InventoryService {
 
+    private static final HotPathLogger READ_LOG = HotPathLogger.of(InventoryService.class, "inventory.read");
+    private static final HotPathLogger CHECK_LOG = HotPathLogger.of(InventoryService.class, "inventory.check");
+    private static final HotPathLogger RESERVE_LOG = HotPathLogger.of(InventoryService.class, "inventory.reserve");
+    private static final HotPathLogger RELEASE_LOG = HotPathLogger.of(InventoryService.class, "inventory.release");
+    private static final HotPathLogger CONFIRM_LOG = HotPathLogger.of(InventoryService.class, "inventory.confirm");
+    private static final HotPathLogger RETURN_LOG = HotPathLogger.of(InventoryService.class, "inventory.return");
+
     private final InventoryRepository inventoryRepository;
+    private final Optional<StockLedger> stockLedger;
+    private final SingleFlight singleFlight;
+    private final MeterRegistry meterRegistry;
+    private final TransactionTemplate transactionTemplate;
 
     @Transactional(readOnly = true)
     @CircuitBreaker(name = "inventoryService", fallbackMethod = "getAllInventoriesFallback")
-    public List<Inventory> getAllInventories() {
-        log.info("Fetching all inventories");
-        return inventoryRepository.findAll();
+    public CursorPage<Inventory> getAllInventories(long afterId, int size) {
+        READ_LOG.atDebug().addKeyValue("afterId", afterId).addKeyValue("size", size).log("Fetching inventories");
+        return CursorPage.of(inventoryRepository.findByIdGreaterThanOrderByIdAsc(afterId, Limit.of(size + 1)),
+                size, Inventory::getId);
     }
 
     @Transactional(readOnly = true)
     public Optional<Inventory> getInventoryById(Long id) {
-        log.info("Fetching inventory with id: {}", id);
+        READ_LOG.atDebug().addKeyValue("id", id).log("Fetching inventory");
         return inventoryRepository.findById(id);
     }
 
-    @Transactional(readOnly = true)
+    /**
+     * Not transactional on purpose: callers coalesced onto another caller's load must not hold a
+     * pooled connection while they wait. The repository read runs in its own read-only transaction.
+     */
     @CircuitBreaker(name = "inventoryService", fallbackMethod = "getInventoryByProductIdFallback")
     @Retry(name = "inventoryService")
     public Optional<Inventory> getInventoryByProductId(Long productId) {
-        log.info("Fetching inventory for product: {}", productId);
-        return inventoryRepository.findByProductId(productId);
+        READ_LOG.atDebug().addKeyValue("productId", productId).log("Fetching inventory");
+        return singleFlight.execute("inventoryByProduct", productId, () -> inventoryRepository.findByProductId(productId));
     }
 
-    @Transactional(readOnly = true)
+    /*
+     * The stock methods below only join a transaction the caller already has (ReservationService).
+     * Answered from the ledger they need no connection; the table updates open their own
+     * transaction when the caller has none.
+     */
+    @Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
     public boolean checkAvailability(Long productId, Integer quantity) {
-        log.info("Checking availability for product: {} quantity: {}", productId, quantity);
+        CHECK_LOG.atDebug().addKeyValue("productId", productId).addKeyValue("quantity", quantity)
+                .log("Checking availability");
+        if (stockLedger.isPresent()) {
+            return stockLedger.get().isAvailable(productId, quantity);
+        }
         return inventoryRepository.findByProductId(productId)
                 .map(inventory -> inventory.hasAvailableStock(quantity))
                 .orElse(false);
     }
 
-    @Transactional
+    @Transactional(propagation = Propagation.SUPPORTS)
     public boolean reserveStock(Long productId, Integer quantity) {
-        log.info("Reserving stock for product: {} quantity: {}", productId, quantity);
-        Optional<Inventory> inventoryOpt = inventoryRepository.findByProductId(productId);
-
-        if (inventoryOpt.isEmpty()) {
-            log.warn("Inventory not found for product: {}", productId);
-            return false;
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "error";
+        try {
+            boolean reserved = stockLedger
+                    .map(ledger -> undoOnRollback(ledger.reserve(productId, quantity), ledger, productId, 0, -quantity))
+                    .orElseGet(() -> updateInTransaction(() -> inventoryRepository.reserveIfAvailable(productId, quantity)));
+            outcome = reserved ? "reserved" : "rejected";
+            if (!reserved) {
+                log.warn("Insufficient stock or no inventory for product: {}. Requested: {}", productId, quantity);
+                meterRegistry.counter("inventory.reservation.failures", "operation", "single",
+                        "reason", "insufficient-stock").increment();
+                return false;
+            }
+            RESERVE_LOG.atDebug().addKeyValue("productId", productId).addKeyValue("quantity", quantity)
+                    .log("Reserved stock");
+            return true;
+        } finally {
+            sample.stop(reserveTimer("single", outcome));
         }
+    }
 
-        Inventory inventory = inventoryOpt.get();
-        if (!inventory.hasAvailableStock(quantity)) {
-            log.warn("Insufficient stock for product: {}. Available: {}, Requested: {}",
-                    productId, inventory.getAvailableQuantity(), quantity);
-            return false;
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public ReservationResult reserveStocks(List<ReservationLine> lines) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "error";
+        try {
+            ReservationResult result = reserveMerged(lines);
+            outcome = result.isSuccess() ? "reserved" : "rejected";
+            return result;
+        } finally {
+            sample.stop(reserveTimer("batch", outcome));
         }
-
-        inventory.setReservedQuantity(inventory.getReservedQuantity() + quantity);
-        inventoryRepository.save(inventory);
-        log.info("Successfully reserved {} units for product: {}", quantity, productId);
-        return true;
     }
 
-    @Transactional
-    public boolean releaseStock(Long productId, Integer quantity) {
-        log.info("Releasing reserved stock for product: {} quantity: {}", productId, quantity);
-        Optional<Inventory> inventoryOpt = inventoryRepository.findByProductId(productId);
+    private ReservationResult reserveMerged(List<ReservationLine> lines) {
+        // Merge duplicate product lines and update rows in product id order to avoid lock-order deadlocks
+        TreeMap<Long, Integer> requested = new TreeMap<>();
+        for (ReservationLine line : lines) {
+            requested.merge(line.getProductId(), line.getQuantity(), Integer::sum);
+        }
+
+        List<Long> unavailable;
+        if (stockLedger.isPresent()) {
+            StockLedger ledger = stockLedger.get();
+            unavailable = ledger.reserveAll(requested);
+            if (unavailable.isEmpty()) {
+                requested.forEach((productId, quantity) -> undoOnRollback(true, ledger, productId, 0, -quantity));
+            }
+        } else {
+            unavailable = transactionTemplate.execute(status -> {
+                List<Long> rejected = new ArrayList<>();
+                requested.forEach((productId, quantity) -> {
+                    if (inventoryRepository.reserveIfAvailable(productId, quantity) == 0) {
+                        rejected.add(productId);
+                    }
+                });
+                if (!rejected.isEmpty()) {
+                    status.setRollbackOnly();
+                }
+                return rejected;
+            });
+        }
 
-        if (inventoryOpt.isEmpty()) {
-            return false;
+        if (!unavailable.isEmpty()) {
+            log.warn("Insufficient stock for products: {}", unavailable);
+            meterRegistry.counter("inventory.reservation.failures", "operation", "batch",
+                    "reason", "insufficient-stock").increment();
+            return ReservationResult.rejected(unavailable);
         }
 
-        Inventory inventory = inventoryOpt.get();
-        inventory.setReservedQuantity(Math.max(0, inventory.getReservedQuantity() - quantity));
-        inventoryRepository.save(inventory);
-        return true;
+        RESERVE_LOG.atDebug().addKeyValue("productIds", requested.keySet()).addKeyValue("lines", lines.size())
+                .log("Reserved stock");
+        return ReservationResult.reserved();
     }
 
-    @Transactional
-    public boolean confirmReservation(Long productId, Integer quantity) {
-        log.info("Confirming reservation for product: {} quantity: {}", productId, quantity);
-        Optional<Inventory> inventoryOpt = inventoryRepository.findByProductId(productId);
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public boolean releaseStock(Long productId, Integer quantity) {
+        RELEASE_LOG.atDebug().addKeyValue("productId", productId).addKeyValue("quantity", quantity)
+                .log("Releasing reserved stock");
+        return stockLedger
+                .map(ledger -> undoOnRollback(ledger.release(productId, quantity), ledger, productId, 0, quantity))
+                .orElseGet(() -> updateInTransaction(() -> inventoryRepository.releaseIfReserved(productId, quantity)));
+    }
 
-        if (inventoryOpt.isEmpty()) {
-            return false;
-        }
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public boolean confirmReservation(Long productId, Integer quantity) {
+        CONFIRM_LOG.atDebug().addKeyValue("productId", productId).addKeyValue("quantity", quantity)
+                .log("Confirming reservation");
+        return stockLedger
+                .map(ledger -> undoOnRollback(ledger.confirm(productId, quantity), ledger, productId, quantity, quantity))
+                .orElseGet(() -> updateInTransaction(() -> inventoryRepository.confirmIfReserved(productId, quantity)));
+    }
 
-        Inventory inventory = inventoryOpt.get();
-        inventory.setQuantity(inventory.getQuantity() - quantity);
-        inventory.setReservedQuantity(Math.max(0, inventory.getReservedQuantity() - quantity));
-        inventoryRepository.save(inventory);
-        return true;
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public boolean returnConfirmedStock(Long productId, Integer quantity) {
+        RETURN_LOG.atDebug().addKeyValue("productId", productId).addKeyValue("quantity", quantity)
+                .log("Returning confirmed stock");
+        return stockLedger
+                .map(ledger -> undoOnRollback(ledger.returnStock(productId, quantity), ledger, productId, -quantity, 0))
+                .orElseGet(() -> updateInTransaction(() -> inventoryRepository.returnStock(productId, quantity)));
     }
 
     @Transactional
     public Inventory createInventory(Inventory inventory) {
         log.info("Creating new inventory for product: {}", inventory.getProductId());
-        return inventoryRepository.save(inventory);
+        Inventory saved = inventoryRepository.save(inventory);
+        refreshLedgerAfterCommit(saved.getProductId());
+        return saved;
     }
 
     @Transactional
     public Inventory updateInventory(Long id, Inventory inventoryDetails) {
         log.info("Updating inventory with id: {}", id);
-        Inventory inventory = inventoryRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Inventory not found with id: " + id));
-
-        inventory.setQuantity(inventoryDetails.getQuantity());
-        inventory.setWarehouseLocation(inventoryDetails.getWarehouseLocation());
-        inventory.setReorderLevel(inventoryDetails.getReorderLevel());
+        stockLedger.ifPresent(StockLedger::flush);
+        if (inventoryRepository.updateDetails(id, inventoryDetails.getQuantity(),
+                inventoryDetails.getWarehouseLocation(), inventoryDetails.getReorderLevel()) == 0) {
+            throw new RuntimeException("Inventory not found with id: " + id);
+        }
 
-        return inventoryRepository.save(inventory);
+        Inventory saved = inventoryRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("Inventory not found with id: " + id));
+        refreshLedgerAfterCommit(saved.getProductId());
+        return saved;
     }
 
     @Transactional
     public Inventory restockInventory(Long productId, Integer quantity) {
         log.info("Restocking product: {} with quantity: {}", productId, quantity);
-        Inventory inventory = inventoryRepository.findByProductId(productId)
+        if (inventoryRepository.restock(productId, quantity) == 0) {
+            throw new RuntimeException("Inventory not found for product: " + productId);
+        }
+        refreshLedgerAfterCommit(productId);
+        return inventoryRepository.findByProductId(productId)
                 .orElseThrow(() -> new RuntimeException("Inventory not found for product: " + productId));
-
-        inventory.setQuantity(inventory.getQuantity() + quantity);
-        inventory.setLastRestocked(LocalDateTime.now());
-
-        return inventoryRepository.save(inventory);
     }
 
     @Transactional
     public void deleteInventory(Long id) {
         log.info("Deleting inventory with id: {}", id);
+        if (stockLedger.isPresent()) {
+            inventoryRepository.findById(id)
+                    .ifPresent(inventory -> forgetLedgerAfterCommit(inventory.getProductId()));
+        }
         inventoryRepository.deleteById(id);
     }
 
+    /**
+     * Runs a guarded single-row update in the caller's transaction, or in a new one if there is none.
+     */
+    private boolean updateInTransaction(IntSupplier update) {
+        return Boolean.TRUE.equals(transactionTemplate.execute(status -> update.getAsInt() > 0));
+    }
+
+    /**
+     * Ledger changes take effect in memory immediately, so a reservation record or status change
+     * that rolls back afterwards would leave them behind. Registers the inverse deltas to be applied
+     * if the caller's transaction rolls back; without one there is nothing to undo.
+     *
+     * @return {@code applied}, for chaining
+     */
+    private boolean undoOnRollback(boolean applied, StockLedger ledger, Long productId,
+                                   int quantityUndo, int reservedUndo) {
+        if (applied && TransactionSynchronizationManager.isActualTransactionActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status == STATUS_ROLLED_BACK) {
+                        ledger.adjust(productId, quantityUndo, reservedUndo);
+                    }
+                }
+            });
+        }
+        return applied;
+    }
+
+    private void refreshLedgerAfterCommit(Long productId) {
+        stockLedger.ifPresent(ledger -> TransactionSynchronizationManager.registerSynchronization(
+                new TransactionSynchronization() {
+                    @Override
+                    public void afterCommit() {
+                        ledger.refresh(productId);
+                    }
+                }));
+    }
+
+    private void forgetLedgerAfterCommit(Long productId) {
+        stockLedger.ifPresent(ledger -> TransactionSynchronizationManager.registerSynchronization(
+                new TransactionSynchronization() {
+                    @Override
+                    public void afterCommit() {
+                        ledger.forget(productId);
+                    }
+                }));
+    }
+
+    /**
+     * {@code inventory.reserve{operation,store,outcome}} with a percentile histogram; {@code store}
+     * tells ledger reservations apart from guarded database updates.
+     */
+    private Timer reserveTimer(String operation, String outcome) {
+        return Timer.builder("inventory.reserve")
+                .tag("operation", operation)
+                .tag("store", stockLedger.isPresent() ? "ledger" : "database")
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
     // Fallback methods
-    private List<Inventory> getAllInventoriesFallback(Exception e) {
+    private CursorPage<Inventory> getAllInventoriesFallback(long afterId, int size, Exception e) {
         log.error("Fallback: Unable to fetch inventories", e);
-        return List.of();
+        return new CursorPage<>();
     }
 
     private Optional<Inventory> getInventoryByProductIdFallback(Long productId, Exception e) {
@@ -0,0 +1,30 @@
+package com.example.inventoryservice.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ReservationExpirySweeper {
+
+    private final ReservationService reservationService;
+
+    @Value("${inventory.reservation.sweep-batch-size:100}")
+    private int batchSize;
+
+    @Scheduled(fixedDelayString = "${inventory.reservation.sweep-interval-ms:30000}")
+    public void sweep() {
+        try {
+            // Each reservation expires in its own transaction; keep going until a short batch shows the backlog is drained
+            while (reservationService.expireBatch(batchSize) == batchSize) {
+                log.debug("Expired reservation batch of {}, continuing sweep", batchSize);
+            }
+        } catch (RuntimeException e) {
+            log.error("Reservation expiry sweep failed", e);
+        }
+    }
+}
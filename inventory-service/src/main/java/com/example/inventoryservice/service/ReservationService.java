@@ -0,0 +1,184 @@
+package com.example.inventoryservice.service;
+
+import com.example.inventoryservice.dto.ReservationLine;
+import com.example.inventoryservice.dto.ReservationResult;
+import com.example.inventoryservice.model.ReservationStatus;
+import com.example.inventoryservice.model.StockReservation;
+import com.example.inventoryservice.model.StockReservationItem;
+import com.example.inventoryservice.repository.StockReservationRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.interceptor.TransactionAspectSupport;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ReservationService {
+
+    private final InventoryService inventoryService;
+    private final StockReservationRepository reservationRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${inventory.reservation.ttl:15m}")
+    private Duration reservationTtl;
+
+    @Transactional
+    public ReservationResult reserve(List<ReservationLine> lines, String requestKey) {
+        // A retried request gets back the pending reservation its earlier attempt holds for the same lines.
+        // Confirmed or released reservations are never handed out again, so a reused key cannot take stock
+        // that already belongs to another order.
+        if (requestKey != null) {
+            Optional<StockReservation> existing = reservationRepository
+                    .findByRequestKeyAndStatus(requestKey, ReservationStatus.PENDING).stream()
+                    .filter(reservation -> sameLines(reservation, lines))
+                    .findFirst();
+            if (existing.isPresent()) {
+                log.info("Returning existing reservation {} for request key: {}", existing.get().getId(), requestKey);
+                ReservationResult result = ReservationResult.reserved();
+                result.setReservationId(existing.get().getId());
+                result.setExpiresAt(existing.get().getExpiresAt());
+                return result;
+            }
+        }
+
+        ReservationResult result = inventoryService.reserveStocks(lines);
+        if (!result.isSuccess()) {
+            TransactionAspectSupport.currentTransactionStatus().setRollbackOnly();
+            return result;
+        }
+
+        StockReservation reservation = new StockReservation();
+        reservation.setId(UUID.randomUUID().toString());
+        reservation.setRequestKey(requestKey);
+        reservation.setExpiresAt(LocalDateTime.now().plus(reservationTtl));
+        for (ReservationLine line : lines) {
+            StockReservationItem item = new StockReservationItem();
+            item.setProductId(line.getProductId());
+            item.setQuantity(line.getQuantity());
+            reservation.addItem(item);
+        }
+        reservationRepository.save(reservation);
+
+        log.info("Created reservation {} expiring at {}", reservation.getId(), reservation.getExpiresAt());
+        result.setReservationId(reservation.getId());
+        result.setExpiresAt(reservation.getExpiresAt());
+        return result;
+    }
+
+    @Transactional
+    public boolean confirm(String reservationId) {
+        log.info("Confirming reservation: {}", reservationId);
+        if (reservationRepository.transition(reservationId, ReservationStatus.PENDING, ReservationStatus.CONFIRMED) == 0) {
+            boolean alreadyConfirmed = reservationRepository.findById(reservationId)
+                    .map(reservation -> reservation.getStatus() == ReservationStatus.CONFIRMED)
+                    .orElse(false);
+            if (!alreadyConfirmed) {
+                log.warn("Reservation {} is not pending and cannot be confirmed", reservationId);
+            }
+            return alreadyConfirmed;
+        }
+        // A guarded update that changes nothing means the stock no longer matches the reservation;
+        // throwing rolls the status transition back with it
+        forEachItem(reservationId, item -> {
+            if (!inventoryService.confirmReservation(item.getProductId(), item.getQuantity())) {
+                throw new RuntimeException("Reserved stock for product " + item.getProductId()
+                        + " could not be confirmed for reservation " + reservationId);
+            }
+        });
+        return true;
+    }
+
+    @Transactional
+    public boolean release(String reservationId) {
+        log.info("Releasing reservation: {}", reservationId);
+        return releaseAs(reservationId, ReservationStatus.RELEASED);
+    }
+
+    /**
+     * Undoes a reservation for an order that was not placed: a pending one is released and a
+     * confirmed one has its stock put back on hand.
+     */
+    @Transactional
+    public boolean cancel(String reservationId) {
+        log.info("Cancelling reservation: {}", reservationId);
+        if (releaseAs(reservationId, ReservationStatus.CANCELLED)) {
+            return true;
+        }
+        if (reservationRepository.transition(reservationId, ReservationStatus.CONFIRMED, ReservationStatus.CANCELLED) == 0) {
+            return false;
+        }
+        forEachItem(reservationId, item -> {
+            if (!inventoryService.returnConfirmedStock(item.getProductId(), item.getQuantity())) {
+                throw new RuntimeException("Confirmed stock for product " + item.getProductId()
+                        + " could not be returned for reservation " + reservationId);
+            }
+        });
+        return true;
+    }
+
+    /**
+     * Expires up to {@code batchSize} overdue reservations, each in its own transaction so one whose
+     * stock cannot be released does not hold back the rest.
+     *
+     * @return the number of reservations expired
+     */
+    public int expireBatch(int batchSize) {
+        List<String> expiredIds = reservationRepository.findIdsExpiredBefore(
+                ReservationStatus.PENDING, LocalDateTime.now(), PageRequest.of(0, batchSize));
+        int expired = 0;
+        for (String reservationId : expiredIds) {
+            try {
+                if (Boolean.TRUE.equals(transactionTemplate.execute(
+                        status -> releaseAs(reservationId, ReservationStatus.EXPIRED)))) {
+                    expired++;
+                }
+            } catch (RuntimeException e) {
+                log.error("Failed to expire reservation: {}", reservationId, e);
+            }
+        }
+        if (expired > 0) {
+            log.info("Expired {} reservations", expired);
+        }
+        return expired;
+    }
+
+    private boolean releaseAs(String reservationId, ReservationStatus status) {
+        if (reservationRepository.transition(reservationId, ReservationStatus.PENDING, status) == 0) {
+            return false;
+        }
+        forEachItem(reservationId, item -> {
+            if (!inventoryService.releaseStock(item.getProductId(), item.getQuantity())) {
+                throw new RuntimeException("Reserved stock for product " + item.getProductId()
+                        + " could not be released for reservation " + reservationId);
+            }
+        });
+        return true;
+    }
+
+    private static boolean sameLines(StockReservation reservation, List<ReservationLine> lines) {
+        Map<Long, Integer> reserved = new HashMap<>();
+        reservation.getItems().forEach(item -> reserved.merge(item.getProductId(), item.getQuantity(), Integer::sum));
+        Map<Long, Integer> requested = new HashMap<>();
+        lines.forEach(line -> requested.merge(line.getProductId(), line.getQuantity(), Integer::sum));
+        return reserved.equals(requested);
+    }
+
+    private void forEachItem(String reservationId, Consumer<StockReservationItem> action) {
+        reservationRepository.findById(reservationId)
+                .ifPresent(reservation -> reservation.getItems().forEach(action));
+    }
+}
@@ -0,0 +1,61 @@
+package com.example.inventoryservice.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Coalesces concurrent identical loads: the first caller for a key runs the loader and every
+ * caller arriving while it is in flight waits for and shares that result. Nothing is kept once
+ * the load finishes, but a caller that joins a load started before a concurrent write committed
+ * gets the pre-write row, and if the caller caches it (as {@code @Cacheable} does) that copy
+ * outlives an eviction made while the load was in flight, until the entry expires.
+ * Counted in {@code singleflight.calls{name,role=leader|coalesced}}.
+ */
+@Component
+public class SingleFlight {
+
+    private record Key(String name, Object id) {
+    }
+
+    private final ConcurrentHashMap<Key, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+    private final MeterRegistry meterRegistry;
+
+    public SingleFlight(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> T execute(String name, Object id, Supplier<T> loader) {
+        Key key = new Key(name, id);
+        CompletableFuture<Object> mine = new CompletableFuture<>();
+        CompletableFuture<Object> existing = inFlight.putIfAbsent(key, mine);
+        if (existing != null) {
+            meterRegistry.counter("singleflight.calls", "name", name, "role", "coalesced").increment();
+            try {
+                return (T) existing.join();
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof RuntimeException cause) {
+                    throw cause;
+                }
+                throw e;
+            }
+        }
+
+        meterRegistry.counter("singleflight.calls", "name", name, "role", "leader").increment();
+        try {
+            T result = loader.get();
+            mine.complete(result);
+            return result;
+        } catch (RuntimeException | Error e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, mine);
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.example.inventoryservice.tracing;
+
+import brave.handler.MutableSpan;
+import brave.handler.SpanHandler;
+import brave.propagation.TraceContext;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * Keeps the most recently finished spans in memory, independent of any exporter, so tests and
+ * local debugging can inspect what a request produced. Brave picks up every {@link SpanHandler} bean.
+ */
+@Component
+@ConditionalOnProperty(name = "tracing.span-sink.enabled", havingValue = "true")
+public class InMemorySpanSink extends SpanHandler {
+
+    private final int maxSpans;
+    private final Deque<MutableSpan> spans = new ArrayDeque<>();
+
+    public InMemorySpanSink(@Value("${tracing.span-sink.max-spans:1000}") int maxSpans) {
+        this.maxSpans = maxSpans;
+    }
+
+    @Override
+    public boolean end(TraceContext context, MutableSpan span, Cause cause) {
+        if (cause == Cause.FINISHED) {
+            MutableSpan copy = new MutableSpan(span);
+            synchronized (spans) {
+                if (spans.size() >= maxSpans) {
+                    spans.removeFirst();
+                }
+                spans.addLast(copy);
+            }
+        }
+        return true;
+    }
+
+    public List<MutableSpan> spans() {
+        synchronized (spans) {
+            return new ArrayList<>(spans);
+        }
+    }
+
+    public List<MutableSpan> spansOfTrace(String traceId) {
+        return spans().stream()
+                .filter(span -> traceId.equals(span.traceId()))
+                .toList();
+    }
+
+    public void clear() {
+        synchronized (spans) {
+            spans.clear();
+        }
+    }
+}
@@ -1,5 +1,7 @@
 -- Inventory Service Schema
 
+DROP TABLE IF EXISTS stock_reservation_items;
+DROP TABLE IF EXISTS stock_reservations;
 DROP TABLE IF EXISTS inventory;
 
 CREATE TABLE inventory (
@@ -20,3 +22,24 @@ CREATE TABLE inventory (
 CREATE INDEX idx_inventory_product_id ON inventory(product_id);
 CREATE INDEX idx_inventory_quantity ON inventory(quantity);
 
+CREATE TABLE stock_reservations (
+    id VARCHAR(36) PRIMARY KEY,
+    request_key VARCHAR(100),
+    status VARCHAR(20) NOT NULL,
+    expires_at TIMESTAMP NOT NULL,
+    created_at TIMESTAMP NOT NULL,
+    updated_at TIMESTAMP NOT NULL
+);
+
+CREATE TABLE stock_reservation_items (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    reservation_id VARCHAR(36) NOT NULL,
+    product_id BIGINT NOT NULL,
+    quantity INTEGER NOT NULL,
+    CONSTRAINT fk_reservation_items_reservation FOREIGN KEY (reservation_id) REFERENCES stock_reservations(id) ON DELETE CASCADE,
+    CONSTRAINT chk_reservation_quantity_positive CHECK (quantity > 0)
+);
+
+CREATE INDEX idx_stock_reservations_request_key ON stock_reservations(request_key);
+CREATE INDEX idx_stock_reservations_status_expires_at ON stock_reservations(status, expires_at);
+CREATE INDEX idx_stock_reservation_items_reservation_id ON stock_reservation_items(reservation_id);
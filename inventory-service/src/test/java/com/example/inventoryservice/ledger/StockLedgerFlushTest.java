@@ -0,0 +1,80 @@
+package com.example.inventoryservice.ledger;
+
+import com.example.inventoryservice.model.Inventory;
+import com.example.inventoryservice.repository.InventoryRepository;
+import com.example.inventoryservice.service.InventoryService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Deltas flushed on behalf of a caller's transaction must stay written when that transaction
+ * rolls back, since they have already been drained from the ledger.
+ */
+@SpringBootTest(properties = {
+        "eureka.client.enabled=false",
+        "spring.cloud.discovery.enabled=false",
+        "inventory.ledger.enabled=true",
+        "inventory.ledger.flush-interval-ms=3600000"
+})
+class StockLedgerFlushTest {
+
+    private static final long PRODUCT_ID = 900_002L;
+    private static final int STOCK = 50;
+    private static final long UNKNOWN_INVENTORY_ID = -1L;
+
+    @Autowired
+    private InventoryService inventoryService;
+
+    @Autowired
+    private InventoryRepository inventoryRepository;
+
+    @Autowired
+    private StockLedger stockLedger;
+
+    private Long inventoryId;
+
+    @BeforeEach
+    void createSku() {
+        Inventory inventory = new Inventory();
+        inventory.setProductId(PRODUCT_ID);
+        inventory.setQuantity(STOCK);
+        inventory.setWarehouseLocation("TEST");
+        inventoryId = inventoryRepository.save(inventory).getId();
+        stockLedger.refresh(PRODUCT_ID);
+    }
+
+    @AfterEach
+    void deleteSku() {
+        inventoryService.deleteInventory(inventoryId);
+    }
+
+    @Test
+    void flushedDeltasSurviveFailedUpdate() {
+        assertThat(inventoryService.reserveStock(PRODUCT_ID, 5)).isTrue();
+        assertThat(inventoryService.confirmReservation(PRODUCT_ID, 2)).isTrue();
+
+        Inventory details = new Inventory();
+        details.setQuantity(STOCK);
+        details.setWarehouseLocation("TEST");
+        assertThatThrownBy(() -> inventoryService.updateInventory(UNKNOWN_INVENTORY_ID, details))
+                .isInstanceOf(RuntimeException.class);
+
+        Inventory stored = inventoryRepository.findByProductId(PRODUCT_ID).orElseThrow();
+        assertThat(stored.getQuantity()).isEqualTo(STOCK - 2);
+        assertThat(stored.getReservedQuantity()).isEqualTo(3);
+
+        // Nothing left pending, so a second flush must not apply the deltas twice
+        stockLedger.flush();
+        stored = inventoryRepository.findByProductId(PRODUCT_ID).orElseThrow();
+        assertThat(stored.getQuantity()).isEqualTo(STOCK - 2);
+        assertThat(stored.getReservedQuantity()).isEqualTo(3);
+        assertThat(stockLedger.isAvailable(PRODUCT_ID, STOCK - 5)).isTrue();
+        assertThat(stockLedger.isAvailable(PRODUCT_ID, STOCK - 4)).isFalse();
+    }
+}
@@ -0,0 +1,151 @@
+package com.example.inventoryservice.service;
+
+import com.example.inventoryservice.dto.ReservationLine;
+import com.example.inventoryservice.model.Inventory;
+import com.example.inventoryservice.repository.InventoryRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Many threads reserving the same SKU through the guarded single-statement updates must never
+ * reserve more units than are on hand.
+ */
+@SpringBootTest(properties = {
+        "eureka.client.enabled=false",
+        "spring.cloud.discovery.enabled=false"
+})
+class InventoryServiceConcurrencyTest {
+
+    private static final long PRODUCT_ID = 900_001L;
+    private static final int STOCK = 50;
+    private static final int THREADS = 16;
+    private static final int ATTEMPTS_PER_THREAD = 10;
+
+    @Autowired
+    private InventoryService inventoryService;
+
+    @Autowired
+    private InventoryRepository inventoryRepository;
+
+    private Long inventoryId;
+
+    @BeforeEach
+    void createSku() {
+        Inventory inventory = new Inventory();
+        inventory.setProductId(PRODUCT_ID);
+        inventory.setQuantity(STOCK);
+        inventory.setWarehouseLocation("TEST");
+        inventoryId = inventoryRepository.save(inventory).getId();
+    }
+
+    @AfterEach
+    void deleteSku() {
+        inventoryRepository.deleteById(inventoryId);
+    }
+
+    @Test
+    void concurrentSingleReservationsNeverOversell() throws Exception {
+        AtomicInteger reserved = new AtomicInteger();
+
+        runConcurrently(() -> {
+            if (inventoryService.reserveStock(PRODUCT_ID, 1)) {
+                reserved.incrementAndGet();
+            }
+        });
+
+        Inventory inventory = inventoryRepository.findByProductId(PRODUCT_ID).orElseThrow();
+        assertThat(reserved.get()).isEqualTo(STOCK);
+        assertThat(inventory.getReservedQuantity()).isEqualTo(STOCK);
+        assertThat(inventory.getAvailableQuantity()).isZero();
+    }
+
+    @Test
+    void concurrentBatchReservationsNeverOversell() throws Exception {
+        AtomicInteger reserved = new AtomicInteger();
+
+        runConcurrently(() -> {
+            if (inventoryService.reserveStocks(List.of(new ReservationLine(PRODUCT_ID, 2))).isSuccess()) {
+                reserved.addAndGet(2);
+            }
+        });
+
+        Inventory inventory = inventoryRepository.findByProductId(PRODUCT_ID).orElseThrow();
+        assertThat(reserved.get()).isEqualTo(STOCK);
+        assertThat(inventory.getReservedQuantity()).isEqualTo(STOCK);
+    }
+
+    @Test
+    void concurrentReservationsAndConfirmationsKeepCountsConsistent() throws Exception {
+        AtomicInteger confirmed = new AtomicInteger();
+
+        runConcurrently(() -> {
+            if (inventoryService.reserveStock(PRODUCT_ID, 1) && inventoryService.confirmReservation(PRODUCT_ID, 1)) {
+                confirmed.incrementAndGet();
+            }
+        });
+
+        Inventory inventory = inventoryRepository.findByProductId(PRODUCT_ID).orElseThrow();
+        assertThat(confirmed.get()).isEqualTo(STOCK);
+        assertThat(inventory.getQuantity()).isZero();
+        assertThat(inventory.getReservedQuantity()).isZero();
+    }
+
+    @Test
+    void detailUpdatesDoNotOverwriteConcurrentReservations() throws Exception {
+        AtomicInteger reserved = new AtomicInteger();
+        AtomicInteger calls = new AtomicInteger();
+
+        runConcurrently(() -> {
+            if (calls.incrementAndGet() % 10 == 0) {
+                Inventory details = new Inventory();
+                details.setQuantity(STOCK);
+                details.setWarehouseLocation("TEST");
+                details.setReorderLevel(5);
+                inventoryService.updateInventory(inventoryId, details);
+            } else if (inventoryService.reserveStock(PRODUCT_ID, 1)) {
+                reserved.incrementAndGet();
+            }
+        });
+
+        Inventory inventory = inventoryRepository.findByProductId(PRODUCT_ID).orElseThrow();
+        assertThat(inventory.getReservedQuantity()).isEqualTo(reserved.get());
+        assertThat(inventory.getReservedQuantity()).isLessThanOrEqualTo(STOCK);
+    }
+
+    private void runConcurrently(Runnable attempt) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < THREADS; i++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    for (int j = 0; j < ATTEMPTS_PER_THREAD; j++) {
+                        attempt.run();
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.example.loadtest;
+
+import org.HdrHistogram.Histogram;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Prints per-route throughput and latency percentiles and writes the same figures as JSON.
+ */
+final class LoadReport {
+
+    private static final double[] PERCENTILES = {50, 90, 99, 99.9};
+
+    private LoadReport() {
+    }
+
+    static void write(LoadTestConfig config, Map<Route, RouteStats.Snapshot> snapshots, JsonMapper jsonMapper)
+            throws IOException {
+        double seconds = config.duration().toMillis() / 1000.0;
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("offeredRatePerSecond", config.ratePerSecond());
+        json.put("durationSeconds", seconds);
+        Map<String, Object> routes = new LinkedHashMap<>();
+
+        System.out.printf("%n%-15s %9s %9s %7s %7s %7s %7s %9s %9s %9s %9s %9s%n",
+                "route", "requests", "req/s", "2xx/3xx", "4xx", "429", "5xx", "p50 ms", "p90 ms", "p99 ms",
+                "p99.9 ms", "max ms");
+        snapshots.forEach((route, snapshot) -> {
+            Histogram latency = snapshot.latency();
+            Map<String, Object> routeJson = new LinkedHashMap<>();
+            routeJson.put("requests", snapshot.total());
+            routeJson.put("throughputPerSecond", snapshot.total() / seconds);
+            routeJson.put("success", snapshot.success());
+            routeJson.put("clientErrors", snapshot.clientErrors());
+            routeJson.put("rateLimited", snapshot.rateLimited());
+            routeJson.put("serverErrors", snapshot.serverErrors());
+            routeJson.put("failures", snapshot.failures());
+            Map<String, Double> percentiles = new LinkedHashMap<>();
+            for (double percentile : PERCENTILES) {
+                percentiles.put("p" + percentile, millis(latency.getValueAtPercentile(percentile)));
+            }
+            percentiles.put("max", millis(latency.getMaxValue()));
+            routeJson.put("latencyMillis", percentiles);
+            routes.put(route.key(), routeJson);
+
+            System.out.printf("%-15s %9d %9.1f %7d %7d %7d %7d %9.2f %9.2f %9.2f %9.2f %9.2f%n",
+                    route.key(), snapshot.total(), snapshot.total() / seconds, snapshot.success(),
+                    snapshot.clientErrors(), snapshot.rateLimited(), snapshot.serverErrors() + snapshot.failures(),
+                    millis(latency.getValueAtPercentile(50)), millis(latency.getValueAtPercentile(90)),
+                    millis(latency.getValueAtPercentile(99)), millis(latency.getValueAtPercentile(99.9)),
+                    millis(latency.getMaxValue()));
+        });
+        json.put("routes", routes);
+
+        Path report = config.report();
+        Files.write(report, jsonMapper.writerWithDefaultPrettyPrinter().writeValueAsBytes(json));
+        System.out.printf("%nReport written to %s%n", report.toAbsolutePath());
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+}
@@ -0,0 +1,40 @@
+package com.example.loadtest;
+
+import tools.jackson.databind.json.JsonMapper;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.Executors;
+
+/**
+ * Seeds the platform and drives a browse/search/checkout mix through the gateway at a fixed
+ * arrival rate, then reports throughput and latency percentiles per route.
+ * With {@code --launch=true} the whole stack is started from the built jars first.
+ */
+public class LoadTestApplication {
+
+    public static void main(String[] args) throws Exception {
+        LoadTestConfig config = LoadTestConfig.fromArgs(args);
+        JsonMapper jsonMapper = JsonMapper.builder().build();
+        HttpClient httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+
+        LocalStack stack = config.launch() ? new LocalStack(config.projectRoot()) : null;
+        try {
+            if (stack != null) {
+                stack.start();
+            }
+            Seeder.SeedData data = new Seeder(config, httpClient, jsonMapper).seed();
+            Map<Route, RouteStats.Snapshot> results = new OpenLoopDriver(config, httpClient, jsonMapper, data).run();
+            LoadReport.write(config, results, jsonMapper);
+        } finally {
+            if (stack != null) {
+                stack.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.example.loadtest;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Settings parsed from {@code --name=value} arguments; every setting has a default.
+ *
+ * @param mix relative weight of each route in the generated traffic
+ */
+record LoadTestConfig(boolean launch, Path projectRoot, String gatewayUrl, String productServiceUrl,
+                      String inventoryServiceUrl, String userServiceUrl, int users, int products,
+                      int stockPerProduct, double ratePerSecond, Duration warmup, Duration duration,
+                      Duration requestTimeout, Map<Route, Integer> mix, Path report) {
+
+    static LoadTestConfig fromArgs(String[] args) {
+        Map<String, String> values = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --name=value but got: " + arg);
+            }
+            int separator = arg.indexOf('=');
+            values.put(arg.substring(2, separator), arg.substring(separator + 1));
+        }
+
+        Map<Route, Integer> mix = new LinkedHashMap<>();
+        for (Route route : Route.values()) {
+            mix.put(route, Integer.parseInt(values.getOrDefault("mix." + route.key(), Integer.toString(route.defaultWeight()))));
+        }
+
+        return new LoadTestConfig(
+                Boolean.parseBoolean(values.getOrDefault("launch", "false")),
+                Path.of(values.getOrDefault("project-root", ".")).toAbsolutePath().normalize(),
+                values.getOrDefault("gateway-url", "http://localhost:8080"),
+                values.getOrDefault("product-service-url", "http://localhost:8081"),
+                values.getOrDefault("inventory-service-url", "http://localhost:8083"),
+                values.getOrDefault("user-service-url", "http://localhost:8084"),
+                Integer.parseInt(values.getOrDefault("users", "200")),
+                Integer.parseInt(values.getOrDefault("products", "1000")),
+                Integer.parseInt(values.getOrDefault("stock-per-product", "100000")),
+                Double.parseDouble(values.getOrDefault("rate", "200")),
+                Duration.parse(values.getOrDefault("warmup", "PT30S")),
+                Duration.parse(values.getOrDefault("duration", "PT2M")),
+                Duration.parse(values.getOrDefault("request-timeout", "PT10S")),
+                mix,
+                Path.of(values.getOrDefault("report", "load-report.json")));
+    }
+}
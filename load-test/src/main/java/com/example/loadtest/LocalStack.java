@@ -0,0 +1,117 @@
+package com.example.loadtest;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Starts eureka-server, the four services and api-gateway from their built jars as local
+ * processes with the default (H2) configuration, and stops them again on {@link #close()}.
+ */
+final class LocalStack implements AutoCloseable {
+
+    private record Service(String module, int port, List<String> args) {
+    }
+
+    private static final List<Service> START_ORDER = List.of(
+            new Service("eureka-server", 8761, List.of()),
+            new Service("product-service", 8081, List.of()),
+            new Service("inventory-service", 8083, List.of()),
+            new Service("user-service", 8084, List.of()),
+            new Service("order-service", 8082, List.of()),
+            // Every simulated user comes from this host; let the gateway rate-limit them by X-Client-Id
+            new Service("api-gateway", 8080, List.of("--gateway.rate-limit.trust-client-key-header=true")));
+    private static final Duration START_TIMEOUT = Duration.ofMinutes(2);
+
+    private final Path projectRoot;
+    private final HttpClient httpClient = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(2)).build();
+    private final List<Process> processes = new ArrayList<>();
+
+    LocalStack(Path projectRoot) {
+        this.projectRoot = projectRoot;
+    }
+
+    void start() throws IOException, InterruptedException {
+        Path logs = Files.createDirectories(projectRoot.resolve("logs"));
+        for (Service service : START_ORDER) {
+            Path jar = executableJar(service.module());
+            System.out.printf("Starting %s from %s%n", service.module(), projectRoot.relativize(jar));
+            List<String> command = new ArrayList<>(List.of("java", "-jar", jar.toString()));
+            command.addAll(service.args());
+            Process process = new ProcessBuilder(command)
+                    .directory(projectRoot.resolve(service.module()).toFile())
+                    .redirectErrorStream(true)
+                    .redirectOutput(logs.resolve(service.module() + ".log").toFile())
+                    .start();
+            processes.add(process);
+            awaitHealthy(service, process);
+        }
+        // Give the gateway one registry refresh to see every service
+        Thread.sleep(Duration.ofSeconds(30));
+    }
+
+    private Path executableJar(String module) throws IOException {
+        Path target = projectRoot.resolve(module).resolve("target");
+        Path plain = null;
+        try (DirectoryStream<Path> jars = Files.newDirectoryStream(target, module + "-*.jar")) {
+            for (Path jar : jars) {
+                if (jar.getFileName().toString().endsWith("-exec.jar")) {
+                    return jar;
+                }
+                plain = jar;
+            }
+        }
+        if (plain == null) {
+            throw new IllegalStateException("No jar for " + module + " in " + target + "; run mvn install first");
+        }
+        return plain;
+    }
+
+    private void awaitHealthy(Service service, Process process) throws InterruptedException {
+        HttpRequest health = HttpRequest.newBuilder(URI.create("http://localhost:" + service.port() + "/actuator/health"))
+                .timeout(Duration.ofSeconds(2))
+                .build();
+        long deadline = System.nanoTime() + START_TIMEOUT.toNanos();
+        while (System.nanoTime() - deadline < 0) {
+            if (!process.isAlive()) {
+                throw new IllegalStateException(service.module() + " exited during startup, see logs/" + service.module() + ".log");
+            }
+            try {
+                HttpResponse<String> response = httpClient.send(health, HttpResponse.BodyHandlers.ofString());
+                if (response.statusCode() == 200 && response.body().contains("\"UP\"")) {
+                    return;
+                }
+            } catch (IOException e) {
+                // Not listening yet
+            }
+            Thread.sleep(1000);
+        }
+        throw new IllegalStateException(service.module() + " did not become healthy within " + START_TIMEOUT);
+    }
+
+    @Override
+    public void close() {
+        for (int i = processes.size() - 1; i >= 0; i--) {
+            processes.get(i).destroy();
+        }
+        for (Process process : processes) {
+            try {
+                if (!process.waitFor(20, TimeUnit.SECONDS)) {
+                    process.destroyForcibly();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                process.destroyForcibly();
+            }
+        }
+    }
+}
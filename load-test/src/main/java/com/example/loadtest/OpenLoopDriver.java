@@ -0,0 +1,146 @@
+package com.example.loadtest;
+
+import tools.jackson.databind.json.JsonMapper;
+
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Sends requests through the gateway at a fixed arrival rate regardless of how fast responses
+ * come back, the way independent shoppers would. Each request runs on its own virtual thread,
+ * so a slow system builds up concurrency instead of quietly lowering the offered load.
+ */
+final class OpenLoopDriver {
+
+    private final LoadTestConfig config;
+    private final HttpClient httpClient;
+    private final JsonMapper jsonMapper;
+    private final Seeder.SeedData data;
+    private final Map<Route, RouteStats> stats = new EnumMap<>(Route.class);
+    private final Route[] weightedRoutes;
+
+    OpenLoopDriver(LoadTestConfig config, HttpClient httpClient, JsonMapper jsonMapper, Seeder.SeedData data) {
+        this.config = config;
+        this.httpClient = httpClient;
+        this.jsonMapper = jsonMapper;
+        this.data = data;
+        List<Route> routes = new ArrayList<>();
+        config.mix().forEach((route, weight) -> {
+            stats.put(route, new RouteStats());
+            for (int i = 0; i < weight; i++) {
+                routes.add(route);
+            }
+        });
+        if (routes.isEmpty()) {
+            throw new IllegalArgumentException("Traffic mix has no route with a positive weight");
+        }
+        this.weightedRoutes = routes.toArray(Route[]::new);
+    }
+
+    Map<Route, RouteStats.Snapshot> run() {
+        long intervalNanos = (long) (1_000_000_000L / config.ratePerSecond());
+        long start = System.nanoTime();
+        long warmupEnd = start + config.warmup().toNanos();
+        long end = warmupEnd + config.duration().toNanos();
+        boolean warmedUp = config.warmup().isZero();
+        System.out.printf("Driving %.0f req/s for %s after %s warm-up%n",
+                config.ratePerSecond(), config.duration(), config.warmup());
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            long next = start;
+            while (next - end < 0) {
+                long now = System.nanoTime();
+                if (next - now > 0) {
+                    LockSupport.parkNanos(next - now);
+                    continue;
+                }
+                if (!warmedUp && next - warmupEnd >= 0) {
+                    stats.values().forEach(RouteStats::reset);
+                    warmedUp = true;
+                }
+                long scheduledAt = next;
+                Route route = weightedRoutes[ThreadLocalRandom.current().nextInt(weightedRoutes.length)];
+                executor.execute(() -> send(route, scheduledAt));
+                next += intervalNanos;
+            }
+        }
+
+        Map<Route, RouteStats.Snapshot> snapshots = new LinkedHashMap<>();
+        stats.forEach((route, routeStats) -> snapshots.put(route, routeStats.snapshot()));
+        return snapshots;
+    }
+
+    private void send(Route route, long scheduledAt) {
+        RouteStats routeStats = stats.get(route);
+        try {
+            HttpResponse<Void> response = httpClient.send(request(route), HttpResponse.BodyHandlers.discarding());
+            routeStats.record(System.nanoTime() - scheduledAt, response.statusCode());
+        } catch (Exception e) {
+            routeStats.recordFailure(System.nanoTime() - scheduledAt);
+        }
+    }
+
+    private HttpRequest request(Route route) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long userId = data.userIds().get(random.nextInt(data.userIds().size()));
+        Seeder.SeededProduct product = data.products().get(random.nextInt(data.products().size()));
+        String gateway = config.gatewayUrl();
+
+        HttpRequest.Builder builder = switch (route) {
+            case BROWSE -> HttpRequest.newBuilder(URI.create(gateway + "/api/products/active?size=20"));
+            case PRODUCT_DETAIL -> HttpRequest.newBuilder(URI.create(gateway + "/api/products/" + product.id()));
+            case STOCK_CHECK -> HttpRequest.newBuilder(URI.create(gateway + "/api/inventory/product/" + product.id()));
+            case SEARCH -> {
+                String term = data.searchTerms().get(random.nextInt(data.searchTerms().size()));
+                yield HttpRequest.newBuilder(URI.create(gateway + "/api/products/search?q="
+                        + URLEncoder.encode(term, StandardCharsets.UTF_8) + "&size=20"));
+            }
+            case CHECKOUT -> HttpRequest.newBuilder(URI.create(gateway + "/api/orders"))
+                    .header("Content-Type", "application/json")
+                    .header("Idempotency-Key", UUID.randomUUID().toString())
+                    .POST(HttpRequest.BodyPublishers.ofByteArray(jsonMapper.writeValueAsBytes(checkoutBody(userId))));
+        };
+        // One gateway client key per shopper, so per-client rate limits apply per simulated user
+        return builder.header("X-Client-Id", "load-user-" + userId)
+                .timeout(config.requestTimeout())
+                .build();
+    }
+
+    private Map<String, Object> checkoutBody(long userId) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int lines = random.nextInt(1, 5);
+        List<Map<String, Object>> items = new ArrayList<>(lines);
+        BigDecimal total = BigDecimal.ZERO;
+        for (int i = 0; i < lines; i++) {
+            Seeder.SeededProduct product = data.products().get(random.nextInt(data.products().size()));
+            int quantity = random.nextInt(1, 4);
+            items.add(Map.of(
+                    "productId", product.id(),
+                    "productName", product.name(),
+                    "quantity", quantity,
+                    "price", product.price()));
+            total = total.add(product.price().multiply(BigDecimal.valueOf(quantity)));
+        }
+        return Map.of(
+                "userId", userId,
+                "shippingAddress", "1 Load Test Way",
+                "paymentMethod", "Credit Card",
+                "totalAmount", total,
+                "items", items);
+    }
+}
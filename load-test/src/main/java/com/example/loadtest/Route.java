@@ -0,0 +1,29 @@
+package com.example.loadtest;
+
+/**
+ * The kinds of request in the traffic mix, each reported separately.
+ */
+enum Route {
+
+    BROWSE("browse", 40),
+    PRODUCT_DETAIL("product-detail", 25),
+    STOCK_CHECK("stock-check", 15),
+    SEARCH("search", 15),
+    CHECKOUT("checkout", 5);
+
+    private final String key;
+    private final int defaultWeight;
+
+    Route(String key, int defaultWeight) {
+        this.key = key;
+        this.defaultWeight = defaultWeight;
+    }
+
+    String key() {
+        return key;
+    }
+
+    int defaultWeight() {
+        return defaultWeight;
+    }
+}
@@ -0,0 +1,64 @@
+package com.example.loadtest;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latency and outcome counts of one route. Latency is measured from the request's scheduled
+ * send time, so time spent queued behind a slow system counts against it.
+ */
+final class RouteStats {
+
+    private static final long MAX_LATENCY_NANOS = TimeUnit.MINUTES.toNanos(2);
+
+    private final Recorder recorder = new Recorder(MAX_LATENCY_NANOS, 3);
+    private final LongAdder success = new LongAdder();
+    private final LongAdder clientErrors = new LongAdder();
+    private final LongAdder rateLimited = new LongAdder();
+    private final LongAdder serverErrors = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+
+    void record(long latencyNanos, int status) {
+        recorder.recordValue(Math.min(latencyNanos, MAX_LATENCY_NANOS));
+        if (status == 429) {
+            rateLimited.increment();
+        } else if (status >= 500) {
+            serverErrors.increment();
+        } else if (status >= 400) {
+            clientErrors.increment();
+        } else {
+            success.increment();
+        }
+    }
+
+    void recordFailure(long latencyNanos) {
+        recorder.recordValue(Math.min(latencyNanos, MAX_LATENCY_NANOS));
+        failures.increment();
+    }
+
+    /** Drops everything recorded so far, used at the end of the warm-up. */
+    void reset() {
+        recorder.reset();
+        success.reset();
+        clientErrors.reset();
+        rateLimited.reset();
+        serverErrors.reset();
+        failures.reset();
+    }
+
+    Snapshot snapshot() {
+        return new Snapshot(recorder.getIntervalHistogram(), success.sum(), clientErrors.sum(),
+                rateLimited.sum(), serverErrors.sum(), failures.sum());
+    }
+
+    record Snapshot(Histogram latency, long success, long clientErrors, long rateLimited,
+                    long serverErrors, long failures) {
+
+        long total() {
+            return success + clientErrors + rateLimited + serverErrors + failures;
+        }
+    }
+}
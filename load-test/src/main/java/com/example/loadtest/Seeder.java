@@ -0,0 +1,145 @@
+package com.example.loadtest;
+
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Creates the catalogue, stock and users the traffic runs against. Seeding talks to the
+ * services directly so it is neither rate limited nor cached by the gateway.
+ */
+final class Seeder {
+
+    /** A seeded product as the checkout traffic needs it. */
+    record SeededProduct(long id, String name, BigDecimal price) {
+    }
+
+    record SeedData(List<SeededProduct> products, List<Long> userIds, List<String> searchTerms) {
+    }
+
+    private static final String[] CATEGORIES = {"Electronics", "Books", "Clothing", "Home", "Sports", "Toys"};
+    private static final String[] ADJECTIVES = {"Wireless", "Compact", "Premium", "Classic", "Smart", "Portable",
+            "Ergonomic", "Vintage", "Durable", "Lightweight"};
+    private static final String[] NOUNS = {"Mouse", "Keyboard", "Laptop", "Headphones", "Novel", "Jacket",
+            "Lamp", "Backpack", "Bottle", "Puzzle", "Speaker", "Monitor"};
+    private static final int PARALLELISM = 32;
+
+    private final LoadTestConfig config;
+    private final HttpClient httpClient;
+    private final JsonMapper jsonMapper;
+    private final Random random = new Random(42);
+
+    Seeder(LoadTestConfig config, HttpClient httpClient, JsonMapper jsonMapper) {
+        this.config = config;
+        this.httpClient = httpClient;
+        this.jsonMapper = jsonMapper;
+    }
+
+    SeedData seed() throws InterruptedException {
+        String run = Long.toString(System.currentTimeMillis(), 36);
+        List<Map<String, Object>> productBodies = new ArrayList<>(config.products());
+        for (int i = 0; i < config.products(); i++) {
+            String adjective = ADJECTIVES[random.nextInt(ADJECTIVES.length)];
+            String noun = NOUNS[random.nextInt(NOUNS.length)];
+            productBodies.add(Map.of(
+                    "name", adjective + " " + noun + " " + run + "-" + i,
+                    "description", "A " + adjective.toLowerCase() + " " + noun.toLowerCase() + " for load testing",
+                    "price", BigDecimal.valueOf(random.nextInt(100_000) + 99, 2),
+                    "category", CATEGORIES[random.nextInt(CATEGORIES.length)]));
+        }
+        List<JsonNode> created = postAll(config.productServiceUrl() + "/api/products", productBodies);
+        List<SeededProduct> products = created.stream()
+                .map(node -> new SeededProduct(node.get("id").asLong(), node.get("name").asString(),
+                        node.get("price").decimalValue()))
+                .toList();
+        System.out.printf("Seeded %d products%n", products.size());
+
+        List<Map<String, Object>> inventoryBodies = products.stream()
+                .<Map<String, Object>>map(product -> Map.of(
+                        "productId", product.id(),
+                        "quantity", config.stockPerProduct(),
+                        "warehouseLocation", "LOAD-TEST"))
+                .toList();
+        postAll(config.inventoryServiceUrl() + "/api/inventory", inventoryBodies);
+        System.out.printf("Seeded inventory for %d products%n", products.size());
+
+        List<Map<String, Object>> userBodies = new ArrayList<>(config.users());
+        for (int i = 0; i < config.users(); i++) {
+            userBodies.add(Map.of(
+                    "username", "load-" + run + "-" + i,
+                    "email", "load-" + run + "-" + i + "@example.com",
+                    "firstName", "Load",
+                    "lastName", "User " + i));
+        }
+        List<Long> userIds = postAll(config.userServiceUrl() + "/api/users", userBodies).stream()
+                .map(node -> node.get("id").asLong())
+                .toList();
+        System.out.printf("Seeded %d users%n", userIds.size());
+
+        List<String> searchTerms = new ArrayList<>();
+        for (String noun : NOUNS) {
+            searchTerms.add(noun.toLowerCase());
+            searchTerms.add(noun.substring(0, 3).toLowerCase());
+        }
+        for (String adjective : ADJECTIVES) {
+            searchTerms.add(adjective.toLowerCase() + " " + NOUNS[random.nextInt(NOUNS.length)].toLowerCase());
+        }
+        return new SeedData(products, userIds, searchTerms);
+    }
+
+    private List<JsonNode> postAll(String url, List<Map<String, Object>> bodies) throws InterruptedException {
+        Semaphore permits = new Semaphore(PARALLELISM);
+        List<Future<JsonNode>> futures = new ArrayList<>(bodies.size());
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (Map<String, Object> body : bodies) {
+                permits.acquire();
+                futures.add(executor.submit(() -> {
+                    try {
+                        return post(url, body);
+                    } finally {
+                        permits.release();
+                    }
+                }));
+            }
+        }
+
+        List<JsonNode> results = new ArrayList<>(futures.size());
+        for (Future<JsonNode> future : futures) {
+            try {
+                results.add(future.get());
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("Seeding " + url + " failed", e.getCause());
+            }
+        }
+        return results;
+    }
+
+    private JsonNode post(String url, Map<String, Object> body) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(url))
+                .timeout(Duration.ofSeconds(30))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofByteArray(jsonMapper.writeValueAsBytes(body)))
+                .build();
+        HttpResponse<byte[]> response = httpClient.send(request, HttpResponse.BodyHandlers.ofByteArray());
+        if (response.statusCode() / 100 != 2) {
+            throw new IllegalStateException("POST " + url + " returned " + response.statusCode());
+        }
+        return jsonMapper.readTree(response.body());
+    }
+}
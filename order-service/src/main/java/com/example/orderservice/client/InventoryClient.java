@@ -1,8 +1,12 @@
 package com.example.orderservice.client;
 
+import com.example.orderservice.dto.ReservationRequest;
+import com.example.orderservice.dto.ReservationResult;
 import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 
 @FeignClient(name = "inventory-service")
 public interface InventoryClient {
@@ -12,5 +16,17 @@ public interface InventoryClient {
 
     @GetMapping("/api/inventory/reserve/{productId}/{quantity}")
     Boolean reserveStock(@PathVariable Long productId, @PathVariable Integer quantity);
+
+    @PostMapping("/api/inventory/reservations")
+    ReservationResult reserveStocks(@RequestBody ReservationRequest request);
+
+    @PostMapping("/api/inventory/reservations/{reservationId}/confirm")
+    Boolean confirmReservation(@PathVariable String reservationId);
+
+    @PostMapping("/api/inventory/reservations/{reservationId}/release")
+    Boolean releaseReservation(@PathVariable String reservationId);
+
+    @PostMapping("/api/inventory/reservations/{reservationId}/cancel")
+    Boolean cancelReservation(@PathVariable String reservationId);
 }
 
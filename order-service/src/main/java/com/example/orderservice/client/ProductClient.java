@@ -0,0 +1,38 @@
+package com.example.orderservice.client;
+
+import com.example.orderservice.dto.ProductBatch;
+import com.example.orderservice.dto.ProductBatchRequest;
+import org.springframework.cloud.openfeign.FeignClient;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+
+@FeignClient(name = "product-service")
+public interface ProductClient {
+
+    /** Upper bound on ids per call, matching product-service's batch limit. */
+    int MAX_BATCH_SIZE = 200;
+
+    @PostMapping("/api/products/batch")
+    ProductBatch getProductsByIds(@RequestBody ProductBatchRequest request);
+
+    /**
+     * Resolves any number of product ids with as few calls as possible, splitting the distinct ids
+     * into batches of {@link #MAX_BATCH_SIZE}. Products keep the order in which their ids were first seen.
+     */
+    default ProductBatch getProducts(Collection<Long> productIds) {
+        List<Long> ids = new ArrayList<>(new LinkedHashSet<>(productIds));
+        ProductBatch result = new ProductBatch();
+        for (int from = 0; from < ids.size(); from += MAX_BATCH_SIZE) {
+            List<Long> chunk = ids.subList(from, Math.min(from + MAX_BATCH_SIZE, ids.size()));
+            ProductBatch batch = getProductsByIds(new ProductBatchRequest(new ArrayList<>(chunk)));
+            result.getProducts().addAll(batch.getProducts());
+            result.getMissingIds().addAll(batch.getMissingIds());
+        }
+        return result;
+    }
+}
@@ -1,26 +1,53 @@
 package com.example.orderservice.controller;
 
+import com.example.orderservice.dto.CursorPage;
 import com.example.orderservice.model.Order;
 import com.example.orderservice.model.OrderStatus;
+import com.example.orderservice.service.IdempotencyStore;
 import com.example.orderservice.service.OrderService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-import java.util.List;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 
 @RestController
 @RequestMapping("/api/orders")
 @RequiredArgsConstructor
 public class OrderController {
 
+    private static final int MAX_IDEMPOTENCY_KEY_LENGTH = 64;
+
     private final OrderService orderService;
+    private final IdempotencyStore idempotencyStore;
 
     @GetMapping
-    public ResponseEntity<List<Order>> getAllOrders() {
-        return ResponseEntity.ok(orderService.getAllOrders());
+    public ResponseEntity<CursorPage<Order>> getAllOrders(
+            @RequestParam(required = false) String after,
+            @RequestParam(required = false) Integer size) {
+        try {
+            return ResponseEntity.ok(orderService.getAllOrders(CursorPage.decode(after), CursorPage.clampSize(size)));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @GetMapping(value = "/export", produces = "application/x-ndjson")
+    public ResponseEntity<StreamingResponseBody> exportOrders(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) OrderStatus status) {
+        StreamingResponseBody body = out -> orderService.exportOrders(from, to, status, out);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType("application/x-ndjson"))
+                .body(body);
     }
 
     @GetMapping("/{id}")
@@ -31,21 +58,69 @@ public class OrderController {
     }
 
     @GetMapping("/user/{userId}")
-    public ResponseEntity<List<Order>> getOrdersByUserId(@PathVariable Long userId) {
-        return ResponseEntity.ok(orderService.getOrdersByUserId(userId));
+    public ResponseEntity<CursorPage<Order>> getOrdersByUserId(
+            @PathVariable Long userId,
+            @RequestParam(required = false) String after,
+            @RequestParam(required = false) Integer size) {
+        try {
+            return ResponseEntity.ok(orderService.getOrdersByUserId(
+                    userId, CursorPage.decode(after), CursorPage.clampSize(size)));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
     }
 
     @GetMapping("/status/{status}")
-    public ResponseEntity<List<Order>> getOrdersByStatus(@PathVariable OrderStatus status) {
-        return ResponseEntity.ok(orderService.getOrdersByStatus(status));
+    public ResponseEntity<CursorPage<Order>> getOrdersByStatus(
+            @PathVariable OrderStatus status,
+            @RequestParam(required = false) String after,
+            @RequestParam(required = false) Integer size) {
+        try {
+            return ResponseEntity.ok(orderService.getOrdersByStatus(
+                    status, CursorPage.decode(after), CursorPage.clampSize(size)));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
     }
 
     @PostMapping
-    public ResponseEntity<Order> createOrder(@Valid @RequestBody Order order) {
+    public ResponseEntity<Order> createOrder(
+            @Valid @RequestBody Order order,
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey) {
+        if (idempotencyKey == null || idempotencyKey.isBlank()) {
+            try {
+                return ResponseEntity.status(HttpStatus.CREATED)
+                        .body(orderService.createOrder(order, UUID.randomUUID().toString()));
+            } catch (RuntimeException e) {
+                return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
+            }
+        }
+        if (idempotencyKey.length() > MAX_IDEMPOTENCY_KEY_LENGTH) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
+        }
+
+        // Keys are scoped to the user so two clients cannot collide on the same value
+        String key = order.getUserId() + ":" + idempotencyKey;
+        CompletableFuture<Long> previous = idempotencyStore.claim(key);
+        if (previous != null) {
+            try {
+                Long orderId = idempotencyStore.await(previous);
+                return orderService.getOrderById(orderId)
+                        .map(existing -> ResponseEntity.status(HttpStatus.CREATED).body(existing))
+                        .orElse(ResponseEntity.status(HttpStatus.CONFLICT).build());
+            } catch (RuntimeException e) {
+                return ResponseEntity.status(HttpStatus.CONFLICT).build();
+            }
+        }
+
         try {
-            return ResponseEntity.status(HttpStatus.CREATED)
-                    .body(orderService.createOrder(order));
+            // The reservation key only has to survive @Retry attempts of this call; reusing the client's key
+            // would let a later request with the same key pick up this order's reservations
+            Order created = orderService.createOrder(order, UUID.randomUUID().toString());
+            idempotencyStore.complete(key, created.getId());
+            return ResponseEntity.status(HttpStatus.CREATED).body(created);
         } catch (RuntimeException e) {
+            idempotencyStore.fail(key, e);
             return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
         }
     }
@@ -0,0 +1,25 @@
+package com.example.orderservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductSummary {
+
+    private Long id;
+
+    private String name;
+
+    private BigDecimal price;
+
+    private String category;
+
+    private String imageUrl;
+
+    private Boolean active;
+}
@@ -0,0 +1,23 @@
+package com.example.orderservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReservationResult {
+
+    private boolean success;
+
+    private String reservationId;
+
+    private LocalDateTime expiresAt;
+
+    private List<Long> unavailableProductIds = new ArrayList<>();
+}
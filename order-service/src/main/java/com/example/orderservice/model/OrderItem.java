@@ -1,11 +1,14 @@
 package com.example.orderservice.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Positive;
 import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
 
 import java.math.BigDecimal;
 
@@ -22,6 +25,9 @@ public class OrderItem {
 
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "order_id", nullable = false)
+    @JsonIgnore
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     private Order order;
 
     @NotNull(message = "Product ID is required")
@@ -46,7 +52,7 @@ public class OrderItem {
 
     @PrePersist
     @PreUpdate
-    protected void calculateSubtotal() {
+    public void calculateSubtotal() {
         if (quantity != null && price != null) {
             subtotal = price.multiply(BigDecimal.valueOf(quantity));
         }
@@ -2,18 +2,47 @@ package com.example.orderservice.repository;
 
 import com.example.orderservice.model.Order;
 import com.example.orderservice.model.OrderStatus;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 public interface OrderRepository extends JpaRepository<Order, Long> {
 
-    List<Order> findByUserId(Long userId);
+    List<Order> findByUserIdAndStatus(Long userId, OrderStatus status);
 
-    List<Order> findByStatus(OrderStatus status);
+    // List queries fetch items in the same statement so serialising the result doesn't issue one query per order
+    @EntityGraph(attributePaths = "items")
+    List<Order> findByIdInOrderByIdAsc(Collection<Long> ids);
 
-    List<Order> findByUserIdAndStatus(Long userId, OrderStatus status);
-}
+    // Keyset pages select ids first; fetching items together with a row limit would make Hibernate paginate in memory
+    @Query("SELECT o.id FROM Order o WHERE o.id > :afterId ORDER BY o.id")
+    List<Long> findIdsAfter(@Param("afterId") Long afterId, Pageable pageable);
 
+    @Query("SELECT o.id FROM Order o WHERE o.userId = :userId AND o.id > :afterId ORDER BY o.id")
+    List<Long> findIdsByUserIdAfter(@Param("userId") Long userId, @Param("afterId") Long afterId, Pageable pageable);
+
+    @Query("SELECT o.id FROM Order o WHERE o.status = :status AND o.id > :afterId ORDER BY o.id")
+    List<Long> findIdsByStatusAfter(@Param("status") OrderStatus status, @Param("afterId") Long afterId, Pageable pageable);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT o FROM Order o WHERE (:from IS NULL OR o.createdAt >= :from) " +
+            "AND (:to IS NULL OR o.createdAt < :to) AND (:status IS NULL OR o.status = :status) ORDER BY o.id")
+    Stream<Order> streamForExport(@Param("from") LocalDateTime from,
+                                  @Param("to") LocalDateTime to,
+                                  @Param("status") OrderStatus status);
+}
@@ -0,0 +1,118 @@
+package com.example.orderservice.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Bounded, expiring map of idempotency key to the id of the order created for it. A key is
+ * claimed before the order is created, so a duplicate arriving while the first request is still
+ * in flight waits for its result instead of creating a second order.
+ */
+@Component
+@Slf4j
+public class IdempotencyStore {
+
+    private record Entry(CompletableFuture<Long> orderId, long expiresAtNanos) {
+    }
+
+    private final Map<String, Entry> entries = new LinkedHashMap<>();
+
+    @Value("${order.idempotency.max-entries:10000}")
+    private int maxEntries;
+
+    @Value("${order.idempotency.ttl:24h}")
+    private Duration ttl;
+
+    @Value("${order.idempotency.wait-timeout:10s}")
+    private Duration waitTimeout;
+
+    /**
+     * @return {@code null} if the caller now owns the key and must {@link #complete} or {@link #fail} it,
+     *         otherwise the order id future of the request that already claimed it
+     */
+    public synchronized CompletableFuture<Long> claim(String key) {
+        long now = System.nanoTime();
+        evictExpired(now);
+
+        Entry existing = entries.get(key);
+        if (existing != null) {
+            return existing.orderId();
+        }
+
+        if (entries.size() >= maxEntries) {
+            evictEldestCompleted();
+        }
+        entries.put(key, new Entry(new CompletableFuture<>(), now + ttl.toNanos()));
+        return null;
+    }
+
+    public synchronized void complete(String key, Long orderId) {
+        Entry entry = entries.get(key);
+        if (entry != null) {
+            entry.orderId().complete(orderId);
+        }
+    }
+
+    /**
+     * Forgets the key so the client can retry it, and fails any duplicates waiting on it.
+     */
+    public synchronized void fail(String key, Exception cause) {
+        Entry entry = entries.remove(key);
+        if (entry != null) {
+            entry.orderId().completeExceptionally(cause);
+        }
+    }
+
+    public Long await(CompletableFuture<Long> orderId) {
+        try {
+            return orderId.get(waitTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            throw new RuntimeException("Original request for this idempotency key failed", e.getCause());
+        } catch (TimeoutException e) {
+            throw new RuntimeException("Original request for this idempotency key is still in progress", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while waiting for original request", e);
+        }
+    }
+
+    private void evictExpired(long now) {
+        // Entries are kept in insertion order with a fixed TTL, so expired ones are always at the head.
+        // Keys still in flight are kept: dropping them would let a duplicate create a second order.
+        Iterator<Entry> iterator = entries.values().iterator();
+        while (iterator.hasNext()) {
+            Entry entry = iterator.next();
+            if (entry.expiresAtNanos() - now > 0) {
+                break;
+            }
+            if (entry.orderId().isDone()) {
+                iterator.remove();
+            }
+        }
+    }
+
+    /**
+     * Makes room by dropping the eldest completed entry. If every entry is still in flight the
+     * store grows past {@code max-entries} until some complete; in-flight keys are bounded by the
+     * number of concurrent requests.
+     */
+    private void evictEldestCompleted() {
+        Iterator<Entry> iterator = entries.values().iterator();
+        while (iterator.hasNext()) {
+            if (iterator.next().orderId().isDone()) {
+                iterator.remove();
+                return;
+            }
+        }
+    }
+}
@@ -0,0 +1,202 @@
+package com.example.orderservice.service;
+
+import com.example.orderservice.client.InventoryClient;
+import com.example.orderservice.dto.ReservationLine;
+import com.example.orderservice.dto.ReservationRequest;
+import com.example.orderservice.dto.ReservationResult;
+import com.example.orderservice.model.OrderItem;
+import io.micrometer.context.ContextExecutorService;
+import io.micrometer.context.ContextSnapshotFactory;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Reserves inventory for an order's items. Large carts are split into chunks that are reserved
+ * concurrently on virtual threads, bounded per order and by an overall deadline; if any chunk
+ * fails, the chunks that did succeed are released again so the order reserves all or nothing.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class InventoryReservationCoordinator {
+
+    private final InventoryClient inventoryClient;
+    private final OrderMetrics metrics;
+    private static final ContextSnapshotFactory CONTEXT_SNAPSHOTS = ContextSnapshotFactory.builder().build();
+
+    // Chunks run on other threads; carry the caller's trace context (and MDC ids) over to them
+    private final ExecutorService executor = ContextExecutorService.wrap(
+            Executors.newVirtualThreadPerTaskExecutor(), () -> CONTEXT_SNAPSHOTS.captureAll());
+
+    @Value("${order.inventory.chunk-size:25}")
+    private int chunkSize;
+
+    @Value("${order.inventory.max-concurrency:4}")
+    private int maxConcurrency;
+
+    @Value("${order.inventory.timeout:3s}")
+    private Duration timeout;
+
+    /**
+     * @param requestKey stable across retries of the same order so inventory-service returns the
+     *                   reservations an earlier attempt already holds instead of reserving again
+     * @return the ids of the reservations holding the order's stock
+     */
+    public List<String> reserve(List<OrderItem> items, String requestKey) {
+        List<ReservationLine> lines = items.stream()
+                .map(item -> new ReservationLine(item.getProductId(), item.getQuantity()))
+                .toList();
+
+        if (lines.size() <= chunkSize) {
+            ReservationResult result;
+            try {
+                result = reserveChunk(lines, chunkKey(requestKey, 0));
+            } catch (RuntimeException e) {
+                metrics.reservationFailure("inventory-unavailable");
+                throw e;
+            }
+            return List.of(requireReserved(result).getReservationId());
+        }
+
+        Semaphore permits = new Semaphore(maxConcurrency);
+        List<CompletableFuture<ReservationResult>> futures = new ArrayList<>();
+        for (int from = 0; from < lines.size(); from += chunkSize) {
+            List<ReservationLine> chunk = lines.subList(from, Math.min(from + chunkSize, lines.size()));
+            String chunkKey = chunkKey(requestKey, from / chunkSize);
+            futures.add(CompletableFuture.supplyAsync(() -> reserveChunk(chunk, chunkKey, permits), executor));
+        }
+
+        RuntimeException failure = null;
+        try {
+            CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new))
+                    .get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            metrics.reservationFailure("timeout");
+            failure = new RuntimeException("Inventory reservation did not complete within " + timeout, e);
+        } catch (ExecutionException e) {
+            metrics.reservationFailure("inventory-unavailable");
+            failure = new RuntimeException("Inventory service unavailable", e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            metrics.reservationFailure("interrupted");
+            failure = new RuntimeException("Interrupted while reserving inventory", e);
+        }
+
+        List<String> reservationIds = new ArrayList<>();
+        List<Long> unavailable = new ArrayList<>();
+        for (CompletableFuture<ReservationResult> future : futures) {
+            if (!future.isDone() || future.isCompletedExceptionally()) {
+                continue;
+            }
+            ReservationResult result = future.join();
+            if (result.isSuccess()) {
+                reservationIds.add(result.getReservationId());
+            } else {
+                unavailable.addAll(result.getUnavailableProductIds());
+            }
+        }
+        if (failure == null && !unavailable.isEmpty()) {
+            metrics.reservationFailure("insufficient-stock");
+            failure = new RuntimeException("Products " + unavailable + " are not available in requested quantity");
+        }
+        if (failure == null) {
+            return reservationIds;
+        }
+
+        log.warn("Compensating {} reserved chunks after failed inventory fan-out", reservationIds.size());
+        reservationIds.forEach(this::release);
+        // Chunks still in flight at the deadline are released as soon as they complete
+        futures.stream()
+                .filter(future -> !future.isDone())
+                .forEach(future -> future.thenAccept(result -> {
+                    if (result.isSuccess()) {
+                        release(result.getReservationId());
+                    }
+                }));
+        throw failure;
+    }
+
+    public void release(String reservationId) {
+        try {
+            metrics.timeInventoryCall("release", () -> inventoryClient.releaseReservation(reservationId));
+        } catch (Exception e) {
+            // The reservation expires on its own if it cannot be released now
+            log.error("Failed to release reservation: {}", reservationId, e);
+        }
+    }
+
+    /**
+     * Undoes a reservation whether or not it was already confirmed, for an order that was not committed.
+     */
+    public void cancel(String reservationId) {
+        try {
+            Boolean cancelled = metrics.timeInventoryCall("cancel", () -> inventoryClient.cancelReservation(reservationId));
+            if (!Boolean.TRUE.equals(cancelled)) {
+                log.warn("Reservation {} was not cancelled; it was already released or expired", reservationId);
+            }
+        } catch (Exception e) {
+            // A pending reservation still expires on its own; a confirmed one needs a manual restock
+            log.error("Failed to cancel reservation: {}", reservationId, e);
+        }
+    }
+
+    private ReservationResult reserveChunk(List<ReservationLine> chunk, String chunkKey, Semaphore permits) {
+        try {
+            permits.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while waiting to reserve inventory", e);
+        }
+        try {
+            return reserveChunk(chunk, chunkKey);
+        } finally {
+            permits.release();
+        }
+    }
+
+    private ReservationResult reserveChunk(List<ReservationLine> chunk, String chunkKey) {
+        ReservationResult result;
+        try {
+            ReservationRequest request = new ReservationRequest(new ArrayList<>(chunk), chunkKey);
+            result = metrics.timeInventoryCall("reserve", () -> inventoryClient.reserveStocks(request));
+        } catch (Exception e) {
+            log.error("Failed to reserve inventory for {} order lines", chunk.size(), e);
+            throw new RuntimeException("Inventory service unavailable", e);
+        }
+        if (result == null) {
+            throw new RuntimeException("Inventory service returned no reservation result");
+        }
+        return result;
+    }
+
+    private String chunkKey(String requestKey, int chunkIndex) {
+        return requestKey == null ? null : requestKey + "-" + chunkIndex;
+    }
+
+    private ReservationResult requireReserved(ReservationResult result) {
+        if (!result.isSuccess()) {
+            metrics.reservationFailure("insufficient-stock");
+            throw new RuntimeException("Products " + result.getUnavailableProductIds() + " are not available in requested quantity");
+        }
+        return result;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.orderservice.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.function.Supplier;
+
+/**
+ * Timers and counters for the checkout path. Timers publish percentile histograms so latency
+ * can be broken down by phase and by inventory call in Prometheus:
+ * <ul>
+ *     <li>{@code order.create.phase{phase,outcome}}: inventory fan-out, total computation, persistence, confirmation</li>
+ *     <li>{@code order.inventory.calls{operation,outcome}}: each {@code InventoryClient} call</li>
+ *     <li>{@code order.reservation.failures{reason}}: why an order could not reserve or confirm stock</li>
+ * </ul>
+ */
+@Component
+@RequiredArgsConstructor
+public class OrderMetrics {
+
+    private final MeterRegistry meterRegistry;
+
+    public <T> T timePhase(String phase, Supplier<T> work) {
+        return time("order.create.phase", "phase", phase, work);
+    }
+
+    public <T> T timeInventoryCall(String operation, Supplier<T> work) {
+        return time("order.inventory.calls", "operation", operation, work);
+    }
+
+    public void reservationFailure(String reason) {
+        meterRegistry.counter("order.reservation.failures", "reason", reason).increment();
+    }
+
+    private <T> T time(String name, String tagKey, String tagValue, Supplier<T> work) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "failure";
+        try {
+            T result = work.get();
+            outcome = "success";
+            return result;
+        } finally {
+            sample.stop(Timer.builder(name)
+                    .tag(tagKey, tagValue)
+                    .tag("outcome", outcome)
+                    .publishPercentileHistogram()
+                    .register(meterRegistry));
+        }
+    }
+}
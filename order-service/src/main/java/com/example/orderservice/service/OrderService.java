@@ -1,83 +1,121 @@
 package com.example.orderservice.service;
 
 import com.example.orderservice.client.InventoryClient;
+import com.example.orderservice.dto.CursorPage;
+import com.example.orderservice.logging.HotPathLogger;
 import com.example.orderservice.model.Order;
 import com.example.orderservice.model.OrderItem;
 import com.example.orderservice.model.OrderStatus;
 import com.example.orderservice.repository.OrderRepository;
 import io.github.resilience4j.circuitbreaker.annotation.CircuitBreaker;
+import jakarta.persistence.EntityManager;
 import io.github.resilience4j.retry.annotation.Retry;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import tools.jackson.databind.ObjectMapper;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class OrderService {
 
+    private static final int EXPORT_CHUNK_SIZE = 500;
+    private static final HotPathLogger READ_LOG = HotPathLogger.of(OrderService.class, "order.read");
+    private static final HotPathLogger CREATE_LOG = HotPathLogger.of(OrderService.class, "order.create");
+
     private final OrderRepository orderRepository;
     private final InventoryClient inventoryClient;
+    private final InventoryReservationCoordinator reservationCoordinator;
+    private final OrderMetrics metrics;
+    private final ObjectMapper objectMapper;
+    private final EntityManager entityManager;
 
     @Transactional(readOnly = true)
     @CircuitBreaker(name = "orderService", fallbackMethod = "getAllOrdersFallback")
-    public List<Order> getAllOrders() {
-        log.info("Fetching all orders");
-        return orderRepository.findAll();
+    public CursorPage<Order> getAllOrders(long afterId, int size) {
+        READ_LOG.atDebug().addKeyValue("afterId", afterId).addKeyValue("size", size).log("Fetching orders");
+        return loadPage(orderRepository.findIdsAfter(afterId, PageRequest.of(0, size + 1)), size);
     }
 
     @Transactional(readOnly = true)
     @CircuitBreaker(name = "orderService", fallbackMethod = "getOrderByIdFallback")
     public Optional<Order> getOrderById(Long id) {
-        log.info("Fetching order with id: {}", id);
+        READ_LOG.atDebug().addKeyValue("id", id).log("Fetching order");
         return orderRepository.findById(id);
     }
 
     @Transactional(readOnly = true)
-    public List<Order> getOrdersByUserId(Long userId) {
-        log.info("Fetching orders for user: {}", userId);
-        return orderRepository.findByUserId(userId);
+    public CursorPage<Order> getOrdersByUserId(Long userId, long afterId, int size) {
+        READ_LOG.atDebug().addKeyValue("userId", userId).addKeyValue("afterId", afterId).addKeyValue("size", size)
+                .log("Fetching orders for user");
+        return loadPage(orderRepository.findIdsByUserIdAfter(userId, afterId, PageRequest.of(0, size + 1)), size);
     }
 
     @Transactional(readOnly = true)
-    public List<Order> getOrdersByStatus(OrderStatus status) {
-        log.info("Fetching orders with status: {}", status);
-        return orderRepository.findByStatus(status);
+    public CursorPage<Order> getOrdersByStatus(OrderStatus status, long afterId, int size) {
+        READ_LOG.atDebug().addKeyValue("status", status).addKeyValue("afterId", afterId).addKeyValue("size", size)
+                .log("Fetching orders by status");
+        return loadPage(orderRepository.findIdsByStatusAfter(status, afterId, PageRequest.of(0, size + 1)), size);
     }
 
     @Transactional
     @CircuitBreaker(name = "orderService", fallbackMethod = "createOrderFallback")
     @Retry(name = "orderService")
-    public Order createOrder(Order order) {
-        log.info("Creating new order for user: {}", order.getUserId());
-
-        // Validate and reserve inventory
-        for (OrderItem item : order.getItems()) {
-            try {
-                Boolean available = inventoryClient.checkAvailability(item.getProductId(), item.getQuantity());
-                if (!Boolean.TRUE.equals(available)) {
-                    throw new RuntimeException("Product " + item.getProductId() + " is not available in requested quantity");
-                }
-                inventoryClient.reserveStock(item.getProductId(), item.getQuantity());
-            } catch (Exception e) {
-                log.error("Failed to check/reserve inventory for product: {}", item.getProductId(), e);
-                throw new RuntimeException("Inventory service unavailable", e);
-            }
-        }
+    public Order createOrder(Order order, String requestKey) {
+        CREATE_LOG.atDebug().addKeyValue("userId", order.getUserId()).addKeyValue("items", order.getItems().size())
+                .log("Creating order");
 
-        // Calculate total
-        BigDecimal total = order.getItems().stream()
-                .map(OrderItem::getSubtotal)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-        order.setTotalAmount(total);
+        // Validate and reserve inventory for all items
+        List<String> reservationIds = metrics.timePhase("inventory",
+                () -> reservationCoordinator.reserve(order.getItems(), requestKey));
+        releaseOnRollback(reservationIds);
+
+        order.setTotalAmount(metrics.timePhase("total", () -> calculateTotal(order.getItems())));
 
         order.setStatus(OrderStatus.CONFIRMED);
-        return orderRepository.save(order);
+        order.getItems().forEach(item -> item.setOrder(order));
+        Order saved = metrics.timePhase("persist", () -> orderRepository.save(order));
+
+        // Commit the reserved stock; an unconfirmed reservation is released by inventory-service when it expires
+        return metrics.timePhase("confirm", () -> {
+            for (String reservationId : reservationIds) {
+                Boolean confirmed = metrics.timeInventoryCall("confirm",
+                        () -> inventoryClient.confirmReservation(reservationId));
+                if (!Boolean.TRUE.equals(confirmed)) {
+                    metrics.reservationFailure("confirm-rejected");
+                    throw new RuntimeException("Reservation " + reservationId + " could not be confirmed");
+                }
+            }
+            return saved;
+        });
+    }
+
+    /**
+     * Fills in each item's subtotal and returns their sum. Subtotals are otherwise only computed
+     * on persist, which happens after the total is needed.
+     */
+    public static BigDecimal calculateTotal(List<OrderItem> items) {
+        BigDecimal total = BigDecimal.ZERO;
+        for (OrderItem item : items) {
+            item.calculateSubtotal();
+            total = total.add(item.getSubtotal());
+        }
+        return total;
     }
 
     @Transactional
@@ -96,10 +134,65 @@ public class OrderService {
         orderRepository.deleteById(id);
     }
 
+    /**
+     * Writes every matching order as one JSON line. Orders are read from a JDBC cursor and handled
+     * in chunks; each order is detached once written so the persistence context stays small.
+     */
+    @Transactional(readOnly = true)
+    public void exportOrders(LocalDateTime from, LocalDateTime to, OrderStatus status, OutputStream out) throws IOException {
+        log.info("Exporting orders from: {} to: {} status: {}", from, to, status);
+        long exported = 0;
+        try (Stream<Order> orders = orderRepository.streamForExport(from, to, status)) {
+            List<Order> chunk = new ArrayList<>(EXPORT_CHUNK_SIZE);
+            Iterator<Order> iterator = orders.iterator();
+            while (iterator.hasNext()) {
+                chunk.add(iterator.next());
+                if (chunk.size() == EXPORT_CHUNK_SIZE || !iterator.hasNext()) {
+                    writeChunk(chunk, out);
+                    exported += chunk.size();
+                    chunk.clear();
+                }
+            }
+        }
+        log.info("Exported {} orders", exported);
+    }
+
+    private void writeChunk(List<Order> chunk, OutputStream out) throws IOException {
+        // Items of the orders still attached are batch-loaded together when the first collection is touched
+        for (Order order : chunk) {
+            out.write(objectMapper.writeValueAsBytes(order));
+            out.write('\n');
+            entityManager.detach(order);
+        }
+        out.flush();
+    }
+
+    private CursorPage<Order> loadPage(List<Long> ids, int size) {
+        CursorPage<Long> idPage = CursorPage.of(ids, size, id -> id);
+        List<Order> orders = idPage.getItems().isEmpty()
+                ? List.of()
+                : orderRepository.findByIdInOrderByIdAsc(idPage.getItems());
+        return new CursorPage<>(new ArrayList<>(orders), idPage.getNextCursor());
+    }
+
+    private void releaseOnRollback(List<String> reservationIds) {
+        // Compensate this attempt's reservations if the order is not committed. Chunks may already be
+        // confirmed (a later chunk was rejected, or the commit itself failed), so cancel rather than release.
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_COMMITTED) {
+                    log.warn("Order not committed, cancelling reservations: {}", reservationIds);
+                    reservationIds.forEach(reservationCoordinator::cancel);
+                }
+            }
+        });
+    }
+
     // Fallback methods
-    private List<Order> getAllOrdersFallback(Exception e) {
+    private CursorPage<Order> getAllOrdersFallback(long afterId, int size, Exception e) {
         log.error("Fallback: Unable to fetch orders", e);
-        return List.of();
+        return new CursorPage<>();
     }
 
     private Optional<Order> getOrderByIdFallback(Long id, Exception e) {
@@ -107,7 +200,7 @@ public class OrderService {
         return Optional.empty();
     }
 
-    private Order createOrderFallback(Order order, Exception e) {
+    private Order createOrderFallback(Order order, String requestKey, Exception e) {
         log.error("Fallback: Unable to create order", e);
         throw new RuntimeException("Service temporarily unavailable. Please try again later.");
     }
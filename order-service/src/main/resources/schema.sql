@@ -28,8 +28,8 @@ CREATE TABLE order_items (
     CONSTRAINT chk_price_positive CHECK (price > 0)
 );
 
-CREATE INDEX idx_orders_user_id ON orders(user_id);
-CREATE INDEX idx_orders_status ON orders(status);
+CREATE INDEX idx_orders_user_id_id ON orders(user_id, id);
+CREATE INDEX idx_orders_status_id ON orders(status, id);
 CREATE INDEX idx_order_items_order_id ON order_items(order_id);
 CREATE INDEX idx_order_items_product_id ON order_items(product_id);
 
@@ -0,0 +1,111 @@
+package com.example.orderservice.service;
+
+import com.example.orderservice.dto.CursorPage;
+import com.example.orderservice.model.Order;
+import com.example.orderservice.model.OrderItem;
+import com.example.orderservice.model.OrderStatus;
+import com.example.orderservice.repository.OrderRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Listing N orders must cost a fixed number of statements, not one more per order for its items.
+ */
+@SpringBootTest(properties = {
+        "eureka.client.enabled=false",
+        "spring.cloud.discovery.enabled=false",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+class OrderQueryCountTest {
+
+    private static final long USER_ID = 900_001L;
+    private static final int ITEMS_PER_ORDER = 3;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private final List<Long> orderIds = new ArrayList<>();
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @AfterEach
+    void deleteOrders() {
+        orderRepository.deleteAllById(orderIds);
+        orderIds.clear();
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 10, 50})
+    void pageOfOrdersLoadsItemsWithoutExtraStatements(int orders) {
+        createOrders(orders);
+        statistics.clear();
+
+        CursorPage<Order> page = orderService.getOrdersByUserId(USER_ID, 0, orders);
+
+        // One statement for the page of ids, one for the orders with their items
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+        assertThat(page.getItems()).hasSize(orders);
+        assertThat(page.getItems()).allSatisfy(order -> assertThat(order.getItems()).hasSize(ITEMS_PER_ORDER));
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 10, 50})
+    void pageOfOrdersByStatusLoadsItemsWithoutExtraStatements(int orders) {
+        createOrders(orders, OrderStatus.CANCELLED);
+        statistics.clear();
+
+        // Start just before the created orders so seeded rows with other ids don't count towards the page
+        CursorPage<Order> page = orderService.getOrdersByStatus(OrderStatus.CANCELLED, orderIds.get(0) - 1, orders);
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+        assertThat(page.getItems()).hasSize(orders);
+        assertThat(page.getItems()).allSatisfy(order -> assertThat(order.getItems()).hasSize(ITEMS_PER_ORDER));
+    }
+
+    private void createOrders(int count) {
+        createOrders(count, OrderStatus.CONFIRMED);
+    }
+
+    private void createOrders(int count, OrderStatus status) {
+        for (int i = 0; i < count; i++) {
+            Order order = new Order();
+            order.setUserId(USER_ID);
+            order.setStatus(status);
+            order.setShippingAddress("123 Test Street");
+            order.setPaymentMethod("CREDIT_CARD");
+            for (int j = 0; j < ITEMS_PER_ORDER; j++) {
+                OrderItem item = new OrderItem();
+                item.setProductId((long) j + 1);
+                item.setProductName("Product " + (j + 1));
+                item.setQuantity(1);
+                item.setPrice(new BigDecimal("9.99"));
+                order.addItem(item);
+            }
+            order.setTotalAmount(OrderService.calculateTotal(order.getItems()));
+            orderIds.add(orderRepository.save(order).getId());
+        }
+    }
+}
@@ -1,5 +1,9 @@
 package com.example.productservice.controller;
 
+import com.example.productservice.dto.CursorPage;
+import com.example.productservice.dto.ProductBatch;
+import com.example.productservice.dto.ProductBatchRequest;
+import com.example.productservice.dto.SearchPage;
 import com.example.productservice.model.Product;
 import com.example.productservice.service.ProductService;
 import jakarta.validation.Valid;
@@ -9,41 +13,97 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
+import java.util.Optional;
 
 @RestController
 @RequestMapping("/api/products")
 @RequiredArgsConstructor
 public class ProductController {
 
+    private static final int MAX_SUGGESTIONS = 20;
+
     private final ProductService productService;
 
     @GetMapping
-    public ResponseEntity<List<Product>> getAllProducts() {
-        return ResponseEntity.ok(productService.getAllProducts());
+    public ResponseEntity<CursorPage<Product>> getAllProducts(
+            @RequestParam(required = false) String after,
+            @RequestParam(required = false) Integer size) {
+        try {
+            return conditionalPage(productService.getAllProducts(CursorPage.decode(after), CursorPage.clampSize(size)));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
     }
 
     @GetMapping("/{id}")
     public ResponseEntity<Product> getProductById(@PathVariable Long id) {
-        return productService.getProductById(id)
-                .map(ResponseEntity::ok)
+        Optional<Product> product = productService.getProductById(id);
+        product.ifPresent(found -> productService.recordProductView(found.getId()));
+        return product
+                .map(found -> ConditionalGet.ok(found, etagOf(found), found.getUpdatedAt()))
                 .orElse(ResponseEntity.notFound().build());
     }
 
+    @PostMapping("/batch")
+    public ResponseEntity<ProductBatch> getProductsByIds(@Valid @RequestBody ProductBatchRequest request) {
+        return ResponseEntity.ok(productService.getProductsByIds(request.getIds()));
+    }
+
+    @GetMapping(value = "/batch", params = "ids")
+    public ResponseEntity<ProductBatch> getProductsByIds(@RequestParam List<Long> ids) {
+        if (ids.isEmpty() || ids.size() > ProductBatchRequest.MAX_IDS || ids.contains(null)) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(productService.getProductsByIds(ids));
+    }
+
     @GetMapping("/active")
-    public ResponseEntity<List<Product>> getActiveProducts() {
-        return ResponseEntity.ok(productService.getActiveProducts());
+    public ResponseEntity<CursorPage<Product>> getActiveProducts(
+            @RequestParam(required = false) String after,
+            @RequestParam(required = false) Integer size) {
+        try {
+            return conditionalPage(productService.getActiveProducts(CursorPage.decode(after), CursorPage.clampSize(size)));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
     }
 
     @GetMapping("/category/{category}")
-    public ResponseEntity<List<Product>> getProductsByCategory(@PathVariable String category) {
-        return ResponseEntity.ok(productService.getProductsByCategory(category));
+    public ResponseEntity<CursorPage<Product>> getProductsByCategory(
+            @PathVariable String category,
+            @RequestParam(required = false) String after,
+            @RequestParam(required = false) Integer size) {
+        try {
+            return conditionalPage(productService.getProductsByCategory(
+                    category, CursorPage.decode(after), CursorPage.clampSize(size)));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
     }
 
-    @GetMapping("/search")
+    @GetMapping(value = "/search", params = "name")
     public ResponseEntity<List<Product>> searchProducts(@RequestParam String name) {
         return ResponseEntity.ok(productService.searchProducts(name));
     }
 
+    @GetMapping(value = "/search", params = "q")
+    public ResponseEntity<SearchPage<Product>> searchProducts(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(required = false) Integer size) {
+        if (page < 0) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(productService.searchProducts(q, page, CursorPage.clampSize(size)));
+    }
+
+    @GetMapping("/suggest")
+    public ResponseEntity<List<String>> suggestProductNames(
+            @RequestParam String prefix,
+            @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(productService.suggestProductNames(prefix, Math.max(0, Math.min(limit, MAX_SUGGESTIONS))));
+    }
+
     @PostMapping
     public ResponseEntity<Product> createProduct(@Valid @RequestBody Product product) {
         return ResponseEntity.status(HttpStatus.CREATED)
@@ -66,5 +126,21 @@ public class ProductController {
         productService.deleteProduct(id);
         return ResponseEntity.noContent().build();
     }
-}
 
+    /**
+     * List pages only carry an ETag: a deleted product leaves the newest {@code updatedAt} unchanged,
+     * so Last-Modified could not detect it.
+     */
+    private ResponseEntity<CursorPage<Product>> conditionalPage(CursorPage<Product> page) {
+        ConditionalGet.Tag tag = new ConditionalGet.Tag();
+        for (Product product : page.getItems()) {
+            tag.add(product.getId()).add(product.getUpdatedAt());
+        }
+        tag.add(page.getNextCursor());
+        return ConditionalGet.ok(page, tag.build(), null);
+    }
+
+    private static String etagOf(Product product) {
+        return new ConditionalGet.Tag().add(product.getId()).add(product.getUpdatedAt()).build();
+    }
+}
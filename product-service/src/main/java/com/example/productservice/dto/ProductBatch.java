@@ -0,0 +1,23 @@
+package com.example.productservice.dto;
+
+import com.example.productservice.model.Product;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Products resolved for a batch of ids, in the order the ids were requested.
+ * Ids that do not exist are reported in {@code missingIds} instead of failing the whole batch.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductBatch {
+
+    private List<Product> products = new ArrayList<>();
+
+    private List<Long> missingIds = new ArrayList<>();
+}
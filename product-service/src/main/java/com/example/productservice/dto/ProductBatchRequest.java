@@ -0,0 +1,23 @@
+package com.example.productservice.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductBatchRequest {
+
+    public static final int MAX_IDS = 200;
+
+    @NotEmpty(message = "At least one product id is required")
+    @Size(max = MAX_IDS, message = "At most " + MAX_IDS + " product ids per request")
+    private List<@NotNull Long> ids = new ArrayList<>();
+}
@@ -0,0 +1,22 @@
+package com.example.productservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SearchPage<T> {
+
+    private List<T> items = new ArrayList<>();
+
+    private int page;
+
+    private int size;
+
+    private int totalMatches;
+}
@@ -1,6 +1,7 @@
 package com.example.productservice.repository;
 
 import com.example.productservice.model.Product;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
@@ -9,10 +10,10 @@ import java.util.List;
 @Repository
 public interface ProductRepository extends JpaRepository<Product, Long> {
 
-    List<Product> findByCategory(String category);
+    List<Product> findByIdGreaterThanOrderByIdAsc(Long afterId, Limit limit);
 
-    List<Product> findByActiveTrue();
+    List<Product> findByActiveTrueAndIdGreaterThanOrderByIdAsc(Long afterId, Limit limit);
 
-    List<Product> findByNameContainingIgnoreCase(String name);
+    List<Product> findByCategoryAndIdGreaterThanOrderByIdAsc(String category, Long afterId, Limit limit);
 }
 
@@ -0,0 +1,203 @@
+package com.example.productservice.search;
+
+import com.example.productservice.model.Product;
+import com.example.productservice.repository.ProductRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+/**
+ * In-memory inverted index over product name, category and description. Terms are lower-cased
+ * word tokens kept in a sorted map so a query token matches every term it is a prefix of.
+ * A product matches when every query token matches one of its terms; results are ranked by the
+ * summed field weights, with exact term matches counting double a prefix match.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ProductSearchIndex {
+
+    private static final Pattern TOKEN_SEPARATOR = Pattern.compile("[^\\p{L}\\p{Nd}]+");
+    private static final int NAME_WEIGHT = 6;
+    private static final int CATEGORY_WEIGHT = 4;
+    private static final int DESCRIPTION_WEIGHT = 2;
+
+    private final ProductRepository productRepository;
+
+    private final NavigableMap<String, Map<Long, Integer>> postings = new TreeMap<>();
+    private final Map<Long, Product> products = new HashMap<>();
+    private final Map<Long, Set<String>> termsByProduct = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public record Match(Product product, int score) {
+    }
+
+    @PostConstruct
+    public void rebuild() {
+        List<Product> all = productRepository.findAll();
+        lock.writeLock().lock();
+        try {
+            postings.clear();
+            products.clear();
+            termsByProduct.clear();
+            all.forEach(this::add);
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Product search index built with {} products and {} terms", all.size(), postings.size());
+    }
+
+    public void index(Product product) {
+        lock.writeLock().lock();
+        try {
+            remove(product.getId());
+            add(product);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long productId) {
+        lock.writeLock().lock();
+        try {
+            Set<String> terms = termsByProduct.remove(productId);
+            products.remove(productId);
+            if (terms == null) {
+                return;
+            }
+            for (String term : terms) {
+                Map<Long, Integer> posting = postings.get(term);
+                posting.remove(productId);
+                if (posting.isEmpty()) {
+                    postings.remove(term);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * @return all matching products, best match first
+     */
+    public List<Match> search(String query) {
+        List<String> queryTokens = tokenize(query);
+        if (queryTokens.isEmpty()) {
+            return List.of();
+        }
+
+        lock.readLock().lock();
+        try {
+            Map<Long, Integer> scores = null;
+            for (String token : queryTokens) {
+                Map<Long, Integer> tokenScores = scoreToken(token);
+                if (scores == null) {
+                    scores = tokenScores;
+                } else {
+                    // Every query token has to match: keep only products seen for all previous tokens
+                    Map<Long, Integer> previous = scores;
+                    scores = new HashMap<>();
+                    for (Map.Entry<Long, Integer> entry : tokenScores.entrySet()) {
+                        Integer score = previous.get(entry.getKey());
+                        if (score != null) {
+                            scores.put(entry.getKey(), score + entry.getValue());
+                        }
+                    }
+                }
+                if (scores.isEmpty()) {
+                    return List.of();
+                }
+            }
+
+            List<Match> matches = new ArrayList<>(scores.size());
+            scores.forEach((productId, score) -> matches.add(new Match(products.get(productId), score)));
+            matches.sort(Comparator.comparingInt(Match::score).reversed()
+                    .thenComparing(match -> match.product().getId()));
+            return matches;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Case-insensitive substring match on the name alone, in id order: the semantics of the
+     * original {@code ?name=} search, served from memory instead of a {@code LIKE '%...%'} scan.
+     */
+    public List<Product> findByNameContaining(String text) {
+        String needle = text == null ? "" : text.toLowerCase(Locale.ROOT);
+        lock.readLock().lock();
+        try {
+            List<Product> matches = new ArrayList<>();
+            for (Product product : products.values()) {
+                if (product.getName() != null && product.getName().toLowerCase(Locale.ROOT).contains(needle)) {
+                    matches.add(product);
+                }
+            }
+            matches.sort(Comparator.comparing(Product::getId));
+            return matches;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private Map<Long, Integer> scoreToken(String token) {
+        Map<Long, Integer> scores = new HashMap<>();
+        // All terms starting with the token sort directly after it
+        for (Map.Entry<String, Map<Long, Integer>> entry : postings.tailMap(token, true).entrySet()) {
+            String term = entry.getKey();
+            if (!term.startsWith(token)) {
+                break;
+            }
+            boolean exact = term.length() == token.length();
+            entry.getValue().forEach((productId, weight) ->
+                    scores.merge(productId, exact ? weight : weight / 2, Math::max));
+        }
+        return scores;
+    }
+
+    private void add(Product product) {
+        Map<String, Integer> weights = new HashMap<>();
+        addTerms(weights, product.getName(), NAME_WEIGHT);
+        addTerms(weights, product.getCategory(), CATEGORY_WEIGHT);
+        addTerms(weights, product.getDescription(), DESCRIPTION_WEIGHT);
+
+        products.put(product.getId(), product);
+        termsByProduct.put(product.getId(), new HashSet<>(weights.keySet()));
+        weights.forEach((term, weight) ->
+                postings.computeIfAbsent(term, t -> new HashMap<>()).put(product.getId(), weight));
+    }
+
+    private static void addTerms(Map<String, Integer> weights, String text, int weight) {
+        for (String token : tokenize(text)) {
+            weights.merge(token, weight, Integer::sum);
+        }
+    }
+
+    static List<String> tokenize(String text) {
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+        List<String> tokens = new ArrayList<>();
+        for (String token : TOKEN_SEPARATOR.split(text.toLowerCase(Locale.ROOT))) {
+            if (!token.isEmpty()) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+}
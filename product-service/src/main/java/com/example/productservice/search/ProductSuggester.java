@@ -0,0 +1,169 @@
+package com.example.productservice.search;
+
+import com.example.productservice.model.Product;
+import com.example.productservice.repository.ProductRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+
+/**
+ * Prefix suggestions for active product names. Normalised names live in a concurrent skip list,
+ * so a lookup is a seek plus a scan of the matching range with no locking, and a write updates
+ * a single entry in O(log n) instead of rebuilding the whole index.
+ * Matches are ranked by how often the product has been viewed; products sharing a name are
+ * suggested once, and a lookup scans at most {@code product.suggest.max-scan} entries so a
+ * one-letter prefix does not walk the whole catalog.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ProductSuggester {
+
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private record Entry(String normalisedName, String name, AtomicLong popularity) {
+    }
+
+    private final ProductRepository productRepository;
+
+    // Keyed by "normalised name \0 product id" so equal names stay distinct
+    private final ConcurrentSkipListMap<String, Entry> entries = new ConcurrentSkipListMap<>();
+    private final Map<Long, String> keysById = new ConcurrentHashMap<>();
+    private final Map<Long, AtomicLong> popularityById = new ConcurrentHashMap<>();
+
+    @Value("${product.suggest.max-scan:1000}")
+    private int maxScan;
+
+    @PostConstruct
+    public synchronized void rebuild() {
+        entries.clear();
+        keysById.clear();
+        for (Product product : productRepository.findAll()) {
+            put(product);
+        }
+        log.info("Product suggester built with {} names", entries.size());
+    }
+
+    public synchronized void upsert(Product product) {
+        // Put the new entry before dropping the old one so concurrent lookups never miss the product
+        String previous = keysById.get(product.getId());
+        String key = put(product);
+        if (previous != null && !previous.equals(key)) {
+            entries.remove(previous);
+        }
+        if (key == null) {
+            keysById.remove(product.getId());
+        }
+    }
+
+    public synchronized void remove(Long productId) {
+        removeEntry(productId);
+        popularityById.remove(productId);
+    }
+
+    public void recordView(Long productId) {
+        AtomicLong popularity = popularityById.get(productId);
+        if (popularity != null) {
+            popularity.incrementAndGet();
+        }
+    }
+
+    public List<String> suggest(String prefix, int limit) {
+        String normalised = normalise(prefix);
+        if (normalised.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+
+        // Keep the best `limit` names in small parallel arrays, ordered by popularity. Equal names
+        // are adjacent in the skip list, so each run collapses into its most viewed product.
+        String[] best = new String[limit];
+        long[] bestScores = new long[limit];
+        int count = 0;
+        Entry group = null;
+        long groupScore = 0;
+        int scanned = 0;
+        for (Map.Entry<String, Entry> match : entries.tailMap(normalised).entrySet()) {
+            if (!match.getKey().startsWith(normalised) || scanned++ == maxScan) {
+                break;
+            }
+            Entry entry = match.getValue();
+            long score = entry.popularity().get();
+            if (group != null && group.normalisedName().equals(entry.normalisedName())) {
+                if (score > groupScore) {
+                    group = entry;
+                    groupScore = score;
+                }
+                continue;
+            }
+            if (group != null) {
+                count = offer(best, bestScores, count, group.name(), groupScore);
+            }
+            group = entry;
+            groupScore = score;
+        }
+        if (group != null) {
+            count = offer(best, bestScores, count, group.name(), groupScore);
+        }
+
+        List<String> suggestions = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            suggestions.add(best[i]);
+        }
+        return suggestions;
+    }
+
+    /** @return the new number of names held, which only grows until the arrays are full */
+    private static int offer(String[] best, long[] bestScores, int count, String name, long score) {
+        int limit = best.length;
+        if (count == limit && score <= bestScores[count - 1]) {
+            return count;
+        }
+        int position = count < limit ? count++ : limit - 1;
+        while (position > 0 && bestScores[position - 1] < score) {
+            best[position] = best[position - 1];
+            bestScores[position] = bestScores[position - 1];
+            position--;
+        }
+        best[position] = name;
+        bestScores[position] = score;
+        return count;
+    }
+
+    /** @return the entry's key, or {@code null} if the product is not suggested */
+    private String put(Product product) {
+        if (!Boolean.TRUE.equals(product.getActive()) || product.getName() == null) {
+            return null;
+        }
+        String normalisedName = normalise(product.getName());
+        String key = normalisedName + '\0' + product.getId();
+        AtomicLong popularity = popularityById.computeIfAbsent(product.getId(), id -> new AtomicLong());
+        entries.put(key, new Entry(normalisedName, product.getName(), popularity));
+        keysById.put(product.getId(), key);
+        return key;
+    }
+
+    private void removeEntry(Long productId) {
+        String key = keysById.remove(productId);
+        if (key != null) {
+            entries.remove(key);
+        }
+    }
+
+    private static String normalise(String text) {
+        if (text == null) {
+            return "";
+        }
+        return WHITESPACE.matcher(text.trim()).replaceAll(" ").toLowerCase(Locale.ROOT);
+    }
+}
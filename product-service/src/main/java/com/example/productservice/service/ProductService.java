@@ -1,15 +1,33 @@
 package com.example.productservice.service;
 
+import com.example.productservice.dto.CursorPage;
+import com.example.productservice.dto.ProductBatch;
+import com.example.productservice.dto.SearchPage;
+import com.example.productservice.logging.HotPathLogger;
 import com.example.productservice.model.Product;
 import com.example.productservice.repository.ProductRepository;
+import com.example.productservice.search.ProductSearchIndex;
+import com.example.productservice.search.ProductSuggester;
 import io.github.resilience4j.circuitbreaker.annotation.CircuitBreaker;
 import io.github.resilience4j.retry.annotation.Retry;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 @Service
@@ -17,45 +35,128 @@ import java.util.Optional;
 @Slf4j
 public class ProductService {
 
+    public static final String PRODUCTS_CACHE = "products";
+    public static final String CATEGORY_CACHE = "productsByCategory";
+    public static final String ACTIVE_PRODUCTS_CACHE = "activeProducts";
+
+    private static final HotPathLogger READ_LOG = HotPathLogger.of(ProductService.class, "product.read");
+    private static final HotPathLogger SEARCH_LOG = HotPathLogger.of(ProductService.class, "product.search");
+
     private final ProductRepository productRepository;
+    private final CacheManager cacheManager;
+    private final ProductSearchIndex searchIndex;
+    private final ProductSuggester suggester;
+    private final SingleFlight singleFlight;
 
     @Transactional(readOnly = true)
     @CircuitBreaker(name = "productService", fallbackMethod = "getAllProductsFallback")
     @Retry(name = "productService")
-    public List<Product> getAllProducts() {
-        log.info("Fetching all products");
-        return productRepository.findAll();
+    public CursorPage<Product> getAllProducts(long afterId, int size) {
+        READ_LOG.atDebug().addKeyValue("afterId", afterId).addKeyValue("size", size).log("Fetching products");
+        return CursorPage.of(productRepository.findByIdGreaterThanOrderByIdAsc(afterId, Limit.of(size + 1)),
+                size, Product::getId);
     }
 
-    @Transactional(readOnly = true)
+    /**
+     * Not transactional on purpose: callers coalesced onto another caller's load must not hold a
+     * pooled connection while they wait. The repository read runs in its own read-only transaction.
+     */
     @CircuitBreaker(name = "productService", fallbackMethod = "getProductByIdFallback")
+    @Cacheable(cacheNames = PRODUCTS_CACHE, key = "#id", unless = "#result == null")
     public Optional<Product> getProductById(Long id) {
-        log.info("Fetching product with id: {}", id);
-        return productRepository.findById(id);
+        READ_LOG.atDebug().addKeyValue("id", id).log("Fetching product");
+        return singleFlight.execute("product", id, () -> productRepository.findById(id));
     }
 
+    /**
+     * Resolves many products at once: entries already in the products cache are served from it and
+     * the rest are loaded with a single {@code findAllById} query and cached for later single reads.
+     */
     @Transactional(readOnly = true)
-    public List<Product> getActiveProducts() {
-        log.info("Fetching active products");
-        return productRepository.findByActiveTrue();
+    public ProductBatch getProductsByIds(Collection<Long> ids) {
+        LinkedHashSet<Long> requested = new LinkedHashSet<>(ids);
+        READ_LOG.atDebug().addKeyValue("ids", requested.size()).log("Fetching products by id");
+        Map<Long, Product> found = new HashMap<>(requested.size() * 2);
+        List<Long> misses = new ArrayList<>();
+        Cache productsCache = cacheManager.getCache(PRODUCTS_CACHE);
+        for (Long id : requested) {
+            Product cached = productsCache != null ? productsCache.get(id, Product.class) : null;
+            if (cached != null) {
+                found.put(id, cached);
+            } else {
+                misses.add(id);
+            }
+        }
+        if (!misses.isEmpty()) {
+            for (Product product : productRepository.findAllById(misses)) {
+                found.put(product.getId(), product);
+                if (productsCache != null) {
+                    productsCache.put(product.getId(), product);
+                }
+            }
+        }
+
+        ProductBatch batch = new ProductBatch();
+        for (Long id : requested) {
+            Product product = found.get(id);
+            if (product != null) {
+                batch.getProducts().add(product);
+            } else {
+                batch.getMissingIds().add(id);
+            }
+        }
+        return batch;
     }
 
     @Transactional(readOnly = true)
-    public List<Product> getProductsByCategory(String category) {
-        log.info("Fetching products by category: {}", category);
-        return productRepository.findByCategory(category);
+    @Cacheable(cacheNames = ACTIVE_PRODUCTS_CACHE, key = "#afterId + ':' + #size")
+    public CursorPage<Product> getActiveProducts(long afterId, int size) {
+        READ_LOG.atDebug().addKeyValue("afterId", afterId).addKeyValue("size", size).log("Fetching active products");
+        return CursorPage.of(productRepository.findByActiveTrueAndIdGreaterThanOrderByIdAsc(afterId, Limit.of(size + 1)),
+                size, Product::getId);
     }
 
     @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CATEGORY_CACHE, key = "#category + ':' + #afterId + ':' + #size")
+    public CursorPage<Product> getProductsByCategory(String category, long afterId, int size) {
+        READ_LOG.atDebug().addKeyValue("category", category).addKeyValue("afterId", afterId).addKeyValue("size", size)
+                .log("Fetching products by category");
+        return CursorPage.of(productRepository.findByCategoryAndIdGreaterThanOrderByIdAsc(category, afterId, Limit.of(size + 1)),
+                size, Product::getId);
+    }
+
     public List<Product> searchProducts(String name) {
-        log.info("Searching products with name: {}", name);
-        return productRepository.findByNameContainingIgnoreCase(name);
+        SEARCH_LOG.atDebug().addKeyValue("query", name).log("Searching products");
+        return searchIndex.findByNameContaining(name);
+    }
+
+    public SearchPage<Product> searchProducts(String query, int page, int size) {
+        SEARCH_LOG.atDebug().addKeyValue("query", query).addKeyValue("page", page).addKeyValue("size", size)
+                .log("Searching products");
+        List<ProductSearchIndex.Match> matches = searchIndex.search(query);
+        int from = (int) Math.min((long) page * size, matches.size());
+        int to = Math.min(from + size, matches.size());
+        List<Product> items = matches.subList(from, to).stream()
+                .map(ProductSearchIndex.Match::product)
+                .toList();
+        return new SearchPage<>(new ArrayList<>(items), page, size, matches.size());
+    }
+
+    public List<String> suggestProductNames(String prefix, int limit) {
+        return suggester.suggest(prefix, limit);
+    }
+
+    public void recordProductView(Long id) {
+        suggester.recordView(id);
     }
 
     @Transactional
     public Product createProduct(Product product) {
         log.info("Creating new product: {}", product.getName());
-        return productRepository.save(product);
+        Product saved = productRepository.save(product);
+        evictAfterCommit(null, saved.getCategory());
+        reindexAfterCommit(saved);
+        return saved;
     }
 
     @Transactional
@@ -63,6 +164,7 @@ public class ProductService {
         log.info("Updating product with id: {}", id);
         Product product = productRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Product not found with id: " + id));
+        evictAfterCommit(id, product.getCategory(), productDetails.getCategory());
 
         product.setName(productDetails.getName());
         product.setDescription(productDetails.getDescription());
@@ -71,19 +173,84 @@ public class ProductService {
         product.setImageUrl(productDetails.getImageUrl());
         product.setActive(productDetails.getActive());
 
-        return productRepository.save(product);
+        Product saved = productRepository.save(product);
+        reindexAfterCommit(saved);
+        return saved;
     }
 
     @Transactional
     public void deleteProduct(Long id) {
         log.info("Deleting product with id: {}", id);
+        evictAfterCommit(id, productRepository.findById(id).map(Product::getCategory).orElse(null));
         productRepository.deleteById(id);
+        afterCommit(() -> {
+            searchIndex.remove(id);
+            suggester.remove(id);
+        });
+    }
+
+    private void reindexAfterCommit(Product product) {
+        afterCommit(() -> {
+            searchIndex.index(product);
+            suggester.upsert(product);
+        });
+    }
+
+    private void afterCommit(Runnable action) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    /**
+     * Evicts once the change is committed, so a concurrent read cannot re-cache the old row or
+     * page in between.
+     *
+     * @param id the product to drop from the products cache, or {@code null} for a new product
+     */
+    private void evictAfterCommit(Long id, String... categories) {
+        afterCommit(() -> {
+            if (id != null) {
+                Cache products = cacheManager.getCache(PRODUCTS_CACHE);
+                if (products != null) {
+                    products.evict(id);
+                }
+            }
+            evictListings(categories);
+        });
+    }
+
+    /**
+     * Drops the cached pages of the given categories and every cached active-products page.
+     * Category pages are keyed {@code category:afterId:size}, so only the affected categories are evicted.
+     */
+    private void evictListings(String... categories) {
+        Cache activeProducts = cacheManager.getCache(ACTIVE_PRODUCTS_CACHE);
+        if (activeProducts != null) {
+            activeProducts.clear();
+        }
+        Cache categoryCache = cacheManager.getCache(CATEGORY_CACHE);
+        if (categoryCache instanceof CaffeineCache caffeineCache) {
+            for (String category : categories) {
+                if (category == null) {
+                    continue;
+                }
+                String prefix = category + ":";
+                caffeineCache.getNativeCache().asMap().keySet()
+                        .removeIf(key -> key.toString().startsWith(prefix));
+            }
+        } else if (categoryCache != null) {
+            categoryCache.clear();
+        }
     }
 
     // Fallback methods
-    private List<Product> getAllProductsFallback(Exception e) {
+    private CursorPage<Product> getAllProductsFallback(long afterId, int size, Exception e) {
         log.error("Fallback: Unable to fetch products", e);
-        return List.of();
+        return new CursorPage<>();
     }
 
     private Optional<Product> getProductByIdFallback(Long id, Exception e) {
@@ -15,7 +15,7 @@ CREATE TABLE products (
     CONSTRAINT chk_price_positive CHECK (price > 0)
 );
 
-CREATE INDEX idx_products_category ON products(category);
-CREATE INDEX idx_products_active ON products(active);
+CREATE INDEX idx_products_category_id ON products(category, id);
+CREATE INDEX idx_products_active_id ON products(active, id);
 CREATE INDEX idx_products_name ON products(name);
 
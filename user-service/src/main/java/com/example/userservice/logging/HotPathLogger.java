@@ -0,0 +1,72 @@
+package com.example.userservice.logging;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.event.Level;
+import org.slf4j.spi.LoggingEventBuilder;
+import org.slf4j.spi.NOPLoggingEventBuilder;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Logging for code that runs on every request. Events are structured (an {@code event} key plus
+ * the caller's key-values) and can be sampled so only one in N calls is logged, configured per
+ * event name or logger name via {@code logging.sampling.rates}. When the level is disabled or
+ * the call is sampled out, the returned builder is the shared no-op one and no event is built,
+ * though the caller's key-value arguments are still evaluated and boxed.
+ *
+ * <p>Each service has its own copy: the services are built and deployed independently and
+ * share no library module.
+ */
+public final class HotPathLogger {
+
+    private static final Map<String, Integer> RATES = new ConcurrentHashMap<>();
+
+    private final Logger logger;
+    private final String event;
+    private final AtomicLong calls = new AtomicLong();
+
+    private HotPathLogger(Logger logger, String event) {
+        this.logger = logger;
+        this.event = event;
+    }
+
+    public static HotPathLogger of(Class<?> type, String event) {
+        return new HotPathLogger(LoggerFactory.getLogger(type), event);
+    }
+
+    static void configure(Map<String, Integer> rates) {
+        RATES.clear();
+        RATES.putAll(rates);
+    }
+
+    public LoggingEventBuilder atDebug() {
+        return at(Level.DEBUG);
+    }
+
+    public LoggingEventBuilder atInfo() {
+        return at(Level.INFO);
+    }
+
+    private LoggingEventBuilder at(Level level) {
+        if (!logger.isEnabledForLevel(level)) {
+            return NOPLoggingEventBuilder.singleton();
+        }
+        int rate = sampleRate();
+        if (rate > 1 && calls.getAndIncrement() % rate != 0) {
+            return NOPLoggingEventBuilder.singleton();
+        }
+        LoggingEventBuilder builder = logger.atLevel(level).addKeyValue("event", event);
+        return rate > 1 ? builder.addKeyValue("sampleRate", rate) : builder;
+    }
+
+    private int sampleRate() {
+        Integer rate = RATES.get(event);
+        if (rate == null) {
+            rate = RATES.get(logger.getName());
+        }
+        return rate == null ? 1 : rate;
+    }
+}
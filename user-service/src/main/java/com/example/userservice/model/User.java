@@ -70,9 +70,16 @@ public class User {
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
 
-    @Column(name = "last_login")
+    /** Written only by {@code LastLoginWriter}, so entity saves never overwrite a newer login. */
+    @Column(name = "last_login", updatable = false)
     private LocalDateTime lastLogin;
 
+    /** A copy with a new login time; cached users are shared between requests and not changed in place. */
+    public User withLastLogin(LocalDateTime loginTime) {
+        return new User(id, username, email, firstName, lastName, phoneNumber, address, city, state,
+                postalCode, country, role, active, createdAt, updatedAt, loginTime);
+    }
+
     @PrePersist
     protected void onCreate() {
         createdAt = LocalDateTime.now();
@@ -2,6 +2,7 @@ package com.example.userservice.repository;
 
 import com.example.userservice.model.User;
 import com.example.userservice.model.UserRole;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
@@ -15,9 +16,11 @@ public interface UserRepository extends JpaRepository<User, Long> {
 
     Optional<User> findByEmail(String email);
 
-    List<User> findByRole(UserRole role);
+    List<User> findByIdGreaterThanOrderByIdAsc(Long afterId, Limit limit);
 
-    List<User> findByActiveTrue();
+    List<User> findByRoleAndIdGreaterThanOrderByIdAsc(UserRole role, Long afterId, Limit limit);
+
+    List<User> findByActiveTrueAndIdGreaterThanOrderByIdAsc(Long afterId, Limit limit);
 
     boolean existsByUsername(String username);
 
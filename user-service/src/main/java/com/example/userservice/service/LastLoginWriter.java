@@ -0,0 +1,82 @@
+package com.example.userservice.service;
+
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Buffers last-login timestamps in memory, keeping only the latest per user, and writes them
+ * back in periodic batched updates so a login storm costs one statement per user per interval.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class LastLoginWriter {
+
+    private static final String FLUSH_SQL =
+            "UPDATE users SET last_login = ? WHERE id = ? AND (last_login IS NULL OR last_login < ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    private final Map<Long, LocalDateTime> pending = new ConcurrentHashMap<>();
+
+    @Value("${user.last-login.flush-batch-size:500}")
+    private int flushBatchSize;
+
+    public void record(Long userId, LocalDateTime loginTime) {
+        pending.merge(userId, loginTime, (current, next) -> next.isAfter(current) ? next : current);
+    }
+
+    public void forget(Long userId) {
+        pending.remove(userId);
+    }
+
+    @Scheduled(fixedDelayString = "${user.last-login.flush-interval-ms:1000}")
+    public synchronized void flush() {
+        List<Object[]> batch = new ArrayList<>();
+        Map<Long, LocalDateTime> drained = new HashMap<>();
+        for (Long userId : pending.keySet()) {
+            LocalDateTime loginTime = pending.remove(userId);
+            if (loginTime != null) {
+                Timestamp timestamp = Timestamp.valueOf(loginTime);
+                drained.put(userId, loginTime);
+                batch.add(new Object[]{timestamp, userId, timestamp});
+            }
+        }
+
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                for (int from = 0; from < batch.size(); from += flushBatchSize) {
+                    jdbcTemplate.batchUpdate(FLUSH_SQL, batch.subList(from, Math.min(from + flushBatchSize, batch.size())));
+                }
+            });
+            log.debug("Flushed last login for {} users", batch.size());
+        } catch (RuntimeException e) {
+            log.error("Last login flush failed, re-queueing {} users", batch.size(), e);
+            drained.forEach(this::record);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flush();
+    }
+}
@@ -0,0 +1,71 @@
+package com.example.userservice.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Bloom filters over every username and email in the users table, used to skip the uniqueness
+ * queries when a value is definitely not taken. Values of deleted users stay in the filters and
+ * only cost a fallback query; the table's unique constraints remain the final guard.
+ */
+@Component
+@Slf4j
+public class UserIdentityFilter {
+
+    private static final String SELECT_SQL = "SELECT username, email FROM users";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final BloomFilter usernames;
+    private final BloomFilter emails;
+    private final Counter skipped;
+    private final Counter checked;
+
+    public UserIdentityFilter(JdbcTemplate jdbcTemplate, MeterRegistry meterRegistry,
+                              @Value("${user.identity-filter.expected-users:1000000}") long expectedUsers,
+                              @Value("${user.identity-filter.false-positive-rate:0.01}") double falsePositiveRate) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.usernames = new BloomFilter(expectedUsers, falsePositiveRate);
+        this.emails = new BloomFilter(expectedUsers, falsePositiveRate);
+        this.skipped = meterRegistry.counter("user.identity.filter", "result", "definitely-free");
+        this.checked = meterRegistry.counter("user.identity.filter", "result", "maybe-taken");
+    }
+
+    @PostConstruct
+    public void load() {
+        int[] loaded = {0};
+        jdbcTemplate.query(SELECT_SQL, rs -> {
+            usernames.add(rs.getString("username"));
+            emails.add(rs.getString("email"));
+            loaded[0]++;
+        });
+        log.info("User identity filter loaded {} users", loaded[0]);
+    }
+
+    /** @return {@code false} only if no user has ever had this username */
+    public boolean mightHaveUsername(String username) {
+        return record(usernames.mightContain(username));
+    }
+
+    /** @return {@code false} only if no user has ever had this email */
+    public boolean mightHaveEmail(String email) {
+        return record(emails.mightContain(email));
+    }
+
+    public void addUsername(String username) {
+        usernames.add(username);
+    }
+
+    public void addEmail(String email) {
+        emails.add(email);
+    }
+
+    private boolean record(boolean maybe) {
+        (maybe ? checked : skipped).increment();
+        return maybe;
+    }
+}
@@ -1,5 +1,7 @@
 package com.example.userservice.service;
 
+import com.example.userservice.dto.CursorPage;
+import com.example.userservice.logging.HotPathLogger;
 import com.example.userservice.model.User;
 import com.example.userservice.model.UserRole;
 import com.example.userservice.repository.UserRepository;
@@ -7,11 +9,16 @@ import io.github.resilience4j.circuitbreaker.annotation.CircuitBreaker;
 import io.github.resilience4j.retry.annotation.Retry;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.time.LocalDateTime;
-import java.util.List;
 import java.util.Optional;
 
 @Service
@@ -19,60 +26,82 @@ import java.util.Optional;
 @Slf4j
 public class UserService {
 
+    public static final String USERS_CACHE = "users";
+    public static final String USERS_BY_USERNAME_CACHE = "usersByUsername";
+    public static final String USERS_BY_EMAIL_CACHE = "usersByEmail";
+
+    private static final HotPathLogger READ_LOG = HotPathLogger.of(UserService.class, "user.read");
+
     private final UserRepository userRepository;
+    private final CacheManager cacheManager;
+    private final LastLoginWriter lastLoginWriter;
+    private final UserIdentityFilter identityFilter;
 
     @Transactional(readOnly = true)
     @CircuitBreaker(name = "userService", fallbackMethod = "getAllUsersFallback")
-    public List<User> getAllUsers() {
-        log.info("Fetching all users");
-        return userRepository.findAll();
+    public CursorPage<User> getAllUsers(long afterId, int size) {
+        READ_LOG.atDebug().addKeyValue("afterId", afterId).addKeyValue("size", size).log("Fetching users");
+        return CursorPage.of(userRepository.findByIdGreaterThanOrderByIdAsc(afterId, Limit.of(size + 1)),
+                size, User::getId);
     }
 
     @Transactional(readOnly = true)
     @CircuitBreaker(name = "userService", fallbackMethod = "getUserByIdFallback")
     @Retry(name = "userService")
+    @Cacheable(cacheNames = USERS_CACHE, key = "#id", unless = "#result == null")
     public Optional<User> getUserById(Long id) {
-        log.info("Fetching user with id: {}", id);
+        READ_LOG.atDebug().addKeyValue("id", id).log("Fetching user");
         return userRepository.findById(id);
     }
 
     @Transactional(readOnly = true)
+    @Cacheable(cacheNames = USERS_BY_USERNAME_CACHE, key = "#username", unless = "#result == null")
     public Optional<User> getUserByUsername(String username) {
-        log.info("Fetching user by username: {}", username);
+        READ_LOG.atDebug().addKeyValue("username", username).log("Fetching user by username");
         return userRepository.findByUsername(username);
     }
 
     @Transactional(readOnly = true)
+    @Cacheable(cacheNames = USERS_BY_EMAIL_CACHE, key = "#email", unless = "#result == null")
     public Optional<User> getUserByEmail(String email) {
-        log.info("Fetching user by email: {}", email);
+        READ_LOG.atDebug().addKeyValue("email", email).log("Fetching user by email");
         return userRepository.findByEmail(email);
     }
 
     @Transactional(readOnly = true)
-    public List<User> getActiveUsers() {
-        log.info("Fetching active users");
-        return userRepository.findByActiveTrue();
+    public CursorPage<User> getActiveUsers(long afterId, int size) {
+        READ_LOG.atDebug().addKeyValue("afterId", afterId).addKeyValue("size", size).log("Fetching active users");
+        return CursorPage.of(userRepository.findByActiveTrueAndIdGreaterThanOrderByIdAsc(afterId, Limit.of(size + 1)),
+                size, User::getId);
     }
 
     @Transactional(readOnly = true)
-    public List<User> getUsersByRole(UserRole role) {
-        log.info("Fetching users by role: {}", role);
-        return userRepository.findByRole(role);
+    public CursorPage<User> getUsersByRole(UserRole role, long afterId, int size) {
+        READ_LOG.atDebug().addKeyValue("role", role).addKeyValue("afterId", afterId).addKeyValue("size", size)
+                .log("Fetching users by role");
+        return CursorPage.of(userRepository.findByRoleAndIdGreaterThanOrderByIdAsc(role, afterId, Limit.of(size + 1)),
+                size, User::getId);
     }
 
     @Transactional
     public User createUser(User user) {
         log.info("Creating new user: {}", user.getUsername());
 
-        if (userRepository.existsByUsername(user.getUsername())) {
+        // The filters rule out most new values; only a possible match costs a query
+        if (identityFilter.mightHaveUsername(user.getUsername())
+                && userRepository.existsByUsername(user.getUsername())) {
             throw new RuntimeException("Username already exists: " + user.getUsername());
         }
 
-        if (userRepository.existsByEmail(user.getEmail())) {
+        if (identityFilter.mightHaveEmail(user.getEmail())
+                && userRepository.existsByEmail(user.getEmail())) {
             throw new RuntimeException("Email already exists: " + user.getEmail());
         }
 
-        return userRepository.save(user);
+        User saved = userRepository.save(user);
+        identityFilter.addUsername(saved.getUsername());
+        identityFilter.addEmail(saved.getEmail());
+        return saved;
     }
 
     @Transactional
@@ -80,12 +109,18 @@ public class UserService {
         log.info("Updating user with id: {}", id);
         User user = userRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("User not found with id: " + id));
+        evictAfterCommit(id, user.getUsername(), user.getEmail());
 
         // Check if email is being changed and if it's already taken
-        if (!user.getEmail().equals(userDetails.getEmail()) &&
+        boolean emailChanged = !user.getEmail().equals(userDetails.getEmail());
+        if (emailChanged &&
+            identityFilter.mightHaveEmail(userDetails.getEmail()) &&
             userRepository.existsByEmail(userDetails.getEmail())) {
             throw new RuntimeException("Email already exists: " + userDetails.getEmail());
         }
+        if (emailChanged) {
+            identityFilter.addEmail(userDetails.getEmail());
+        }
 
         user.setEmail(userDetails.getEmail());
         user.setFirstName(userDetails.getFirstName());
@@ -102,26 +137,81 @@ public class UserService {
         return userRepository.save(user);
     }
 
-    @Transactional
+    /**
+     * Records the login in memory and returns the user with the new timestamp; {@link LastLoginWriter}
+     * persists it with the next batch. The user is served from the cache when possible, and the
+     * cached copies under id, username and email are swapped for ones carrying the new login.
+     */
     public User updateLastLogin(Long id) {
-        log.info("Updating last login for user: {}", id);
-        User user = userRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("User not found with id: " + id));
+        log.debug("Updating last login for user: {}", id);
+        Cache users = cacheManager.getCache(USERS_CACHE);
+        User user = users != null ? users.get(id, User.class) : null;
+        if (user == null) {
+            user = userRepository.findById(id)
+                    .orElseThrow(() -> new RuntimeException("User not found with id: " + id));
+        }
 
-        user.setLastLogin(LocalDateTime.now());
-        return userRepository.save(user);
+        LocalDateTime now = LocalDateTime.now();
+        lastLoginWriter.record(id, now);
+        User updated = user.withLastLogin(now);
+        if (users != null) {
+            users.putIfAbsent(id, updated);
+        }
+        refreshLastLogin(USERS_CACHE, id, now);
+        refreshLastLogin(USERS_BY_USERNAME_CACHE, user.getUsername(), now);
+        refreshLastLogin(USERS_BY_EMAIL_CACHE, user.getEmail(), now);
+        return updated;
     }
 
     @Transactional
     public void deleteUser(Long id) {
         log.info("Deleting user with id: {}", id);
+        userRepository.findById(id).ifPresent(user -> evictAfterCommit(id, user.getUsername(), user.getEmail()));
         userRepository.deleteById(id);
+        lastLoginWriter.forget(id);
+    }
+
+    /**
+     * Evicts once the change is committed, so a concurrent read cannot re-cache the old row in between.
+     */
+    private void evictAfterCommit(Long id, String username, String email) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                evict(USERS_CACHE, id);
+                evict(USERS_BY_USERNAME_CACHE, username);
+                evict(USERS_BY_EMAIL_CACHE, email);
+            }
+        });
+    }
+
+    /**
+     * Replaces a cached user with a copy carrying a newer login time. Only an entry that is still
+     * cached is replaced, so this cannot undo an eviction made by a concurrent update.
+     */
+    @SuppressWarnings("unchecked")
+    private void refreshLastLogin(String cacheName, Object key, LocalDateTime loginTime) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache != null
+                && cache.getNativeCache() instanceof com.github.benmanes.caffeine.cache.Cache<?, ?> nativeCache) {
+            ((com.github.benmanes.caffeine.cache.Cache<Object, Object>) nativeCache).asMap().computeIfPresent(key,
+                    (k, cached) -> cached instanceof User user
+                            && (user.getLastLogin() == null || user.getLastLogin().isBefore(loginTime))
+                            ? user.withLastLogin(loginTime) : cached);
+        }
+    }
+
+    private void evict(String cacheName, Object key) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache != null) {
+            cache.evict(key);
+        }
     }
 
     // Fallback methods
-    private List<User> getAllUsersFallback(Exception e) {
+    private CursorPage<User> getAllUsersFallback(long afterId, int size, Exception e) {
         log.error("Fallback: Unable to fetch users", e);
-        return List.of();
+        return new CursorPage<>();
     }
 
     private Optional<User> getUserByIdFallback(Long id, Exception e) {
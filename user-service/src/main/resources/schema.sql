@@ -23,6 +23,6 @@ CREATE TABLE users (
 
 CREATE INDEX idx_users_username ON users(username);
 CREATE INDEX idx_users_email ON users(email);
-CREATE INDEX idx_users_role ON users(role);
-CREATE INDEX idx_users_active ON users(active);
+CREATE INDEX idx_users_role_id ON users(role, id);
+CREATE INDEX idx_users_active_id ON users(active, id);
 